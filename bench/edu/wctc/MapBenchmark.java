@@ -0,0 +1,141 @@
+package edu.wctc;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Benchmark comparing the line-based and streaming CSV map loaders, and the
+ * char[][] and RoomGrid layer representations.
+ * Generates square grids of several sizes in a temp directory and times both loaders,
+ * then compares memory per layer and full-grid scan time.
+ * Run with a large heap for the biggest grid, e.g. java -Xmx4g edu.wctc.MapBenchmark
+ */
+public class MapBenchmark {
+    private static final int[] SIZES = {12, 1000, 8000};
+
+    // Scan results are stored here so the JIT cannot drop the scans
+    private static volatile int blackhole;
+
+    public static void main(String[] args) throws IOException {
+        File dir = new File(System.getProperty("java.io.tmpdir"), "maze-bench");
+        dir.mkdirs();
+
+        System.out.printf("%-12s %14s %14s %8s%n", "grid", "loadMap (ms)", "streaming (ms)", "speedup");
+        for (int size : SIZES) {
+            File csv = new File(dir, "grid" + size + ".csv");
+            if (!csv.exists()) {
+                writeGrid(csv, size);
+            }
+            // Small grids get many iterations so the timing is measurable
+            int iterations = Math.max(1, 2_000_000 / (size * size));
+
+            double legacy = time(csv.getPath(), iterations, false);
+            double streaming = time(csv.getPath(), iterations, true);
+            System.out.printf("%-12s %14.3f %14.3f %7.1fx%n",
+                    size + "x" + size, legacy, streaming, legacy / streaming);
+        }
+
+        System.out.printf("%n%-12s %14s %14s %14s %14s%n",
+                "grid", "char[][] (KB)", "RoomGrid (KB)", "char scan (ms)", "grid scan (ms)");
+        for (int size : SIZES) {
+            RoomGrid grid = MapLoader.loadMapStreaming(new File(dir, "grid" + size + ".csv").getPath());
+            char[][] chars = toChars(grid);
+            int iterations = Math.max(1, 20_000_000 / (size * size));
+
+            // 16-byte array headers, 4-byte row references, 2 bytes per char cell
+            long charBytes = 16 + 4L * size + size * (16 + 2L * size);
+            double charScan = timeScan(() -> countWalls(chars), iterations);
+            double gridScan = timeScan(() -> countWalls(grid), iterations);
+            System.out.printf("%-12s %14.1f %14.1f %14.4f %14.4f%n", size + "x" + size,
+                    charBytes / 1024.0, grid.getSizeInBytes() / 1024.0, charScan, gridScan);
+        }
+    }
+
+    private static char[][] toChars(RoomGrid grid) {
+        char[][] chars = new char[grid.getRows()][grid.getCols()];
+        for (int i = 0; i < grid.getRows(); i++) {
+            for (int j = 0; j < grid.getCols(); j++) {
+                chars[i][j] = grid.get(i, j);
+            }
+        }
+        return chars;
+    }
+
+    private static int countWalls(char[][] grid) {
+        int walls = 0;
+        for (char[] row : grid) {
+            for (char cell : row) {
+                if (cell == 'w') {
+                    walls++;
+                }
+            }
+        }
+        return walls;
+    }
+
+    private static int countWalls(RoomGrid grid) {
+        int walls = 0;
+        int cells = grid.getRows() * grid.getCols();
+        for (int i = 0; i < cells; i++) {
+            if (grid.get(i) == 'w') {
+                walls++;
+            }
+        }
+        return walls;
+    }
+
+    /**
+     * Runs one warmup round then returns the average milliseconds per full-grid scan.
+     */
+    private static double timeScan(java.util.function.IntSupplier scan, int iterations) {
+        double result = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                blackhole = scan.getAsInt();
+            }
+            result = (System.nanoTime() - start) / 1_000_000.0 / iterations;
+        }
+        return result;
+    }
+
+    /**
+     * Runs one warmup round then returns the average milliseconds per load.
+     */
+    private static double time(String path, int iterations, boolean streaming) throws IOException {
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                int rows = streaming ? MapLoader.loadMapStreaming(path).getRows() : MapLoader.loadMap(path).length;
+                if (rows == 0) {
+                    throw new IllegalStateException("Empty grid: " + path);
+                }
+            }
+            if (round == 1) {
+                return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Writes a walled room of the given size, with a BOM like the shipped maps.
+     */
+    private static void writeGrid(File file, int size) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, java.nio.charset.StandardCharsets.UTF_8))) {
+            writer.write('\uFEFF');
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    boolean wall = i == 0 || j == 0 || i == size - 1 || j == size - 1;
+                    writer.write(wall ? 'w' : 'f');
+                    if (j < size - 1) {
+                        writer.write(',');
+                    }
+                }
+                writer.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package edu.wctc;
+
+import javax.swing.JScrollPane;
+import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleConstants;
+import javax.swing.text.StyledDocument;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Benchmark for the GUI narrative log: appending to the original JTextPane, whose
+ * document grows for the whole session, against NarrativeView's bounded NarrativeLog.
+ * Reports the average append time over the first and last blocks of messages, so a
+ * cost that grows with session length shows up, and the time to paint a screenful.
+ * Runs on the EDT without showing a window:
+ * java -Djava.awt.headless=true edu.wctc.NarrativeBenchmark [messages]
+ */
+public class NarrativeBenchmark {
+    private static final int BLOCK = 2000;
+    private static final String MESSAGE = "✓ You move north.\n"
+            + "The torchlight flickers across the damp stone walls of the chamber.";
+
+    public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Font font = new Font("Courier New", Font.PLAIN, 12);
+        SwingUtilities.invokeAndWait(() -> {
+            JTextPane pane = new JTextPane();
+            pane.setFont(font);
+            StyledDocument document = pane.getStyledDocument();
+            double[] pad = time(messages, () -> {
+                SimpleAttributeSet attrs = new SimpleAttributeSet();
+                StyleConstants.setForeground(attrs, new Color(144, 238, 144));
+                try {
+                    document.insertString(document.getLength(), "\n" + MESSAGE, attrs);
+                } catch (BadLocationException e) {
+                    throw new IllegalStateException(e);
+                }
+                pane.setCaretPosition(document.getLength());
+            });
+
+            NarrativeLog log = new NarrativeLog();
+            NarrativeView view = new NarrativeView(log, font);
+            JScrollPane scroll = new JScrollPane(view);
+            scroll.setSize(500, 400);
+            scroll.validate();
+            double[] bounded = time(messages, () -> view.append(MESSAGE, NarrativeLog.NARRATIVE));
+
+            BufferedImage image = new BufferedImage(500, 400, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            view.setSize(view.getPreferredSize());
+            g.translate(0, -(view.getHeight() - 400));
+            g.setClip(0, view.getHeight() - 400, 500, 400);
+            long start = System.nanoTime();
+            for (int i = 0; i < 1000; i++) {
+                view.paint(g);
+            }
+            double paint = (System.nanoTime() - start) / 1_000.0 / 1000;
+            g.dispose();
+
+            System.out.printf("%-24s %14s %14s%n", messages + " messages", "first (µs)", "last (µs)");
+            System.out.printf("%-24s %14.2f %14.2f%n", "JTextPane", pad[0], pad[1]);
+            System.out.printf("%-24s %14.2f %14.2f%n", "NarrativeView", bounded[0], bounded[1]);
+            System.out.printf("%nLog holds %,d lines (%,d KB), %,d dropped; screenful paint %.1f µs%n",
+                    log.size(), log.getEstimatedBytes() / 1024, log.getDroppedLines(), paint);
+        });
+    }
+
+    /**
+     * Runs every append, timing the first and last BLOCK.
+     * @return the average microseconds per append in the first and last blocks
+     */
+    private static double[] time(int messages, Runnable append) {
+        double[] result = new double[2];
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            if (i == BLOCK) {
+                result[0] = (System.nanoTime() - start) / 1_000.0 / BLOCK;
+            } else if (i == messages - BLOCK) {
+                start = System.nanoTime();
+            }
+            append.run();
+        }
+        result[1] = (System.nanoTime() - start) / 1_000.0 / BLOCK;
+        return result;
+    }
+}
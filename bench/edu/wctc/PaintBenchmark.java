@@ -0,0 +1,190 @@
+package edu.wctc;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Benchmark for GameGUI map painting: the original per-cell drawing (fill, new Font and
+ * drawString for each cell, then grid lines) against tile blits from a TileAtlas, and a
+ * full-map paint against the two-tile repaint GameGUI now does when the player moves.
+ * Also measures bytes allocated per paint, before (a fresh composited grid and per-cell
+ * drawing) and now (the cached CompositeLayer and the atlas), and a 2048x2048 room
+ * through the same 12x12-tile camera viewport.
+ * Paints the Weapon Chamber into an offscreen image, so it runs headless:
+ * java -Djava.awt.headless=true edu.wctc.PaintBenchmark [paints]
+ */
+public class PaintBenchmark {
+    private static final int TILE_SIZE = 35;
+
+    public static void main(String[] args) throws IOException {
+        int paints = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        Room room = new Maze().getCurrentRoom();
+        CompositeLayer layer = new CompositeLayer(room);
+        char[][] layout = layer.getCells();
+        int[] spawn = room.findObject('p');
+
+        BufferedImage target = new BufferedImage(TILE_SIZE * 12 + 20, TILE_SIZE * 12 + 20, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        Runnable legacyPaint = () -> paintLegacy(g, legacyComposite(room, spawn[0], spawn[1]));
+        double legacy = time(paints, legacyPaint);
+        TileAtlas atlas = new TileAtlas(g, TILE_SIZE);
+        Camera camera = new Camera(10);
+        camera.follow(spawn[0], spawn[1], 12, 12, target.getWidth(), target.getHeight());
+        Runnable atlasPaint = () -> GameGUI.drawMap(g, atlas, layer.getCells(), spawn[0], spawn[1], camera, null);
+        double atlasTime = time(paints, atlasPaint);
+        // A move from (5, 5) to (5, 6): the dirty region is both tiles and their edge lines
+        Rectangle move = new Rectangle(10 + 5 * TILE_SIZE, 10 + 5 * TILE_SIZE, 2 * TILE_SIZE + 1, TILE_SIZE + 1);
+        g.setClip(move);
+        double movePaint = time(paints, () -> GameGUI.drawMap(g, atlas, layout, 5, 6, camera, move));
+        g.setClip(null);
+
+        char[][] large = largeRoom(2048);
+        Camera largeCamera = new Camera(10);
+        largeCamera.follow(1024, 1024, 2048, 2048, target.getWidth(), target.getHeight());
+        double largePaint = time(paints, () -> GameGUI.drawMap(g, atlas, large, 1024, 1024, largeCamera, null));
+        double legacyBytes = allocatedPerPaint(paints, legacyPaint);
+        double atlasBytes = allocatedPerPaint(paints, atlasPaint);
+        long start = System.nanoTime();
+        new TileAtlas(g, TILE_SIZE);
+        double build = (System.nanoTime() - start) / 1_000.0;
+        g.dispose();
+
+        System.out.printf("%-22s %12s%n", "12x12 map paint", "µs/paint");
+        System.out.printf("%-22s %12.1f%n", "per-cell drawing", legacy);
+        System.out.printf("%-22s %12.1f%n", "tile atlas", atlasTime);
+        System.out.printf("%-22s %11.1fx%n", "speedup", legacy / atlasTime);
+        System.out.printf("%-22s %12.1f%n", "two-tile repaint", movePaint);
+        System.out.printf("%-22s %12.1f%n", "2048x2048 room", largePaint);
+        System.out.printf("%-22s %12.1f%n", "atlas build (µs)", build);
+        System.out.printf("%n%-22s %12s%n", "allocation", "bytes/paint");
+        System.out.printf("%-22s %12.0f%n", "before", legacyBytes);
+        System.out.printf("%-22s %12.0f%n", "cached layer + atlas", atlasBytes);
+    }
+
+    /**
+     * Builds a walled room with an object every 97 cells.
+     */
+    private static char[][] largeRoom(int size) {
+        char[][] cells = new char[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                boolean wall = i == 0 || j == 0 || i == size - 1 || j == size - 1;
+                cells[i][j] = wall ? 'w' : (i * size + j) % 97 == 0 ? 'W' : 'f';
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Returns the average bytes the current thread allocates per paint, after a warmup round.
+     */
+    private static double allocatedPerPaint(int paints, Runnable paint) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        time(paints, paint);
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < paints; i++) {
+            paint.run();
+        }
+        return (double) (threads.getThreadAllocatedBytes(thread) - before) / paints;
+    }
+
+    /**
+     * GameGUI's grid for each paint before CompositeLayer: a fresh copy of the layout
+     * with the objects and player stamped on.
+     */
+    private static char[][] legacyComposite(Room room, int playerRow, int playerCol) {
+        char[][] displayGrid = new char[12][12];
+        for (int i = 0; i < Math.min(12, room.layoutGrid.getRows()); i++) {
+            for (int j = 0; j < Math.min(12, room.layoutGrid.getCols()); j++) {
+                displayGrid[i][j] = room.layoutGrid.get(i, j);
+            }
+        }
+        for (int i = 0; i < Math.min(12, room.objectsGrid.getRows()); i++) {
+            for (int j = 0; j < Math.min(12, room.objectsGrid.getCols()); j++) {
+                char obj = room.objectsGrid.get(i, j);
+                if (obj != ' ') {
+                    displayGrid[i][j] = obj;
+                }
+            }
+        }
+        displayGrid[playerRow][playerCol] = '@';
+        return displayGrid;
+    }
+
+    /**
+     * Runs one warmup round then returns the average microseconds per paint.
+     */
+    private static double time(int paints, Runnable paint) {
+        double result = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < paints; i++) {
+                paint.run();
+            }
+            result = (System.nanoTime() - start) / 1_000.0 / paints;
+        }
+        return result;
+    }
+
+    /**
+     * GameGUI's map painting before the tile atlas.
+     */
+    private static void paintLegacy(Graphics2D g, char[][] layout) {
+        int startX = 10;
+        int startY = 10;
+        for (int row = 0; row < 12; row++) {
+            for (int col = 0; col < 12; col++) {
+                drawLegacyTile(g, startX + col * TILE_SIZE, startY + row * TILE_SIZE, layout[row][col]);
+            }
+        }
+        g.setColor(new Color(68, 68, 68));
+        g.setStroke(new BasicStroke(0.5f));
+        for (int i = 0; i <= 12; i++) {
+            g.drawLine(startX + i * TILE_SIZE, startY, startX + i * TILE_SIZE, startY + 12 * TILE_SIZE);
+        }
+        for (int i = 0; i <= 12; i++) {
+            g.drawLine(startX, startY + i * TILE_SIZE, startX + 12 * TILE_SIZE, startY + i * TILE_SIZE);
+        }
+    }
+
+    private static void drawLegacyTile(Graphics2D g, int x, int y, char cellType) {
+        switch (cellType) {
+            case 'w':
+                g.setColor(TileAtlas.WALL_COLOR);
+                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+                break;
+            case '@':
+                g.setColor(TileAtlas.PLAYER_COLOR);
+                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+                g.setColor(Color.BLACK);
+                g.setFont(new Font("Arial", Font.BOLD, 18));
+                g.drawString("@", x + 12, y + 24);
+                break;
+            case 'W':
+            case 'n':
+            case 'd':
+            case 'e':
+                g.setColor(cellType == 'W' ? TileAtlas.WEAPON_COLOR : cellType == 'n' ? TileAtlas.NPC_COLOR
+                        : cellType == 'd' ? TileAtlas.DOOR_COLOR : TileAtlas.EXIT_COLOR);
+                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+                g.setColor(cellType == 'd' ? Color.BLACK : Color.WHITE);
+                g.setFont(new Font("Arial", Font.BOLD, 14));
+                g.drawString(String.valueOf(cellType), x + (cellType == 'W' ? 12 : 13), y + 22);
+                break;
+            default:
+                g.setColor(TileAtlas.FLOOR_COLOR);
+                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.wctc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test for GameServer: opens many concurrent sessions on a local in-process server,
+ * measures heap per session, then drives commands from client threads and reports
+ * command round-trip latency percentiles.
+ *
+ * Usage: java edu.wctc.ServerLoadTest [sessions] [commandsPerSession] [clientThreads]
+ * Defaults are 2000, 50 and 16. Heap figures include the clients' socket buffers, so
+ * they overstate the server's own cost slightly.
+ */
+public class ServerLoadTest {
+    private static final byte[] PROMPT = "Enter command: ".getBytes(StandardCharsets.UTF_8);
+    // Commands that keep a session running: interact and loot in the Weapon Chamber
+    private static final String COMMANDS = "il";
+
+    public static void main(String[] args) throws Exception {
+        int sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int commands = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+
+        GameServer server = new GameServer(0, sessionCount, 60_000);
+        server.start();
+
+        // Load the shared room maps before measuring
+        new Maze();
+        long heapBefore = usedHeap();
+
+        Socket[] sockets = new Socket[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            sockets[i] = new Socket("localhost", server.getPort());
+            sockets[i].setTcpNoDelay(true);
+            readUntilPrompt(sockets[i].getInputStream());
+        }
+        long heapPerSession = (usedHeap() - heapBefore) / sessionCount;
+
+        // Each client thread drives an equal share of the sessions, one command at a time
+        long[][] latencies = new long[threads][];
+        List<Thread> clients = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int client = t;
+            Thread thread = new Thread(() -> latencies[client] = drive(sockets, client, threads, commands));
+            clients.add(thread);
+            thread.start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("Sessions open:        %,d (server reports %,d)%n", sessionCount, server.getActiveSessions());
+        System.out.printf("Heap per session:     %,d bytes (%,d sessions per GB)%n",
+                heapPerSession, heapPerSession > 0 ? (1L << 30) / heapPerSession : 0);
+        System.out.printf("Commands:             %,d in %.1f ms (%,.0f/s)%n",
+                all.length, elapsed / 1e6, all.length * 1e9 / elapsed);
+        System.out.printf("Latency p50/p99/max:  %.3f / %.3f / %.3f ms%n",
+                percentile(all, 50) / 1e6, percentile(all, 99) / 1e6, all[all.length - 1] / 1e6);
+
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        server.stop();
+    }
+
+    private static long[] drive(Socket[] sockets, int client, int threads, int commands) {
+        long[] latencies = new long[((sockets.length - client + threads - 1) / threads) * commands];
+        int n = 0;
+        try {
+            for (int c = 0; c < commands; c++) {
+                byte[] line = (COMMANDS.charAt(c % COMMANDS.length()) + "\n").getBytes(StandardCharsets.UTF_8);
+                for (int i = client; i < sockets.length; i += threads) {
+                    long sent = System.nanoTime();
+                    OutputStream out = sockets[i].getOutputStream();
+                    out.write(line);
+                    out.flush();
+                    readUntilPrompt(sockets[i].getInputStream());
+                    latencies[n++] = System.nanoTime() - sent;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Client " + client + " failed", e);
+        }
+        return Arrays.copyOf(latencies, n);
+    }
+
+    /**
+     * Reads a session's output up to and including its next command prompt.
+     */
+    private static void readUntilPrompt(InputStream in) throws IOException {
+        int matched = 0;
+        byte[] buffer = new byte[8192];
+        while (true) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Session closed before prompt");
+            }
+            matched = b == PROMPT[matched] ? matched + 1 : (b == PROMPT[0] ? 1 : 0);
+            if (matched == PROMPT.length) {
+                return;
+            }
+            // Skip ahead in bulk while more than a prompt's worth of output is waiting;
+            // the prompt is always the last thing sent, so it cannot be in the skipped part
+            if (in.available() > PROMPT.length && matched == 0) {
+                int skip = Math.min(in.available() - PROMPT.length, buffer.length);
+                int read = in.read(buffer, 0, skip);
+                for (int i = 0; i < read; i++) {
+                    matched = buffer[i] == PROMPT[matched] ? matched + 1 : (buffer[i] == PROMPT[0] ? 1 : 0);
+                }
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p / 100 * sorted.length) - 1)];
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,6 +1,8 @@
 package edu.wctc;
 
-import java.util.Random;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * The final room of the maze containing a powerful creature.
@@ -9,8 +11,96 @@ import java.util.Random;
  * Implements Exitable interface.
  */
 public class BossChamber extends Room implements Exitable, Interactable {
+    // Fixed narrative text, registered so remote clients can cache it by ID
+    private static final String SENSORY_DESCRIPTION =
+            "╔════════════════════════════════════════╗\n" +
+            "║     YOU ENTER THE BOSS CHAMBER      ║\n" +
+            "╚════════════════════════════════════════╝\n\n" +
+            "YOUR FINAL OBJECTIVE\n" +
+            "Everything has led to this moment. You have obtained a weapon of power.\n" +
+            "You have sought counsel from the ancient sage. Now comes the true test\n" +
+            "of your worth. Ahead waits the creature that has plagued this realm for\n" +
+            "centuries. You must defeat it, or the kingdom will perish in endless night.\n" +
+            "Steel yourself. This is the moment of reckoning.\n\n" +
+            "THE OBSIDIAN THRONE ROOM\n" +
+            "The moment you cross the threshold, reality itself seems to warp.\n" +
+            "A bone-chilling cold washes over you, so intense it steals your breath.\n" +
+            "Your breath mists in the frigid air as an overwhelming sense of dread\n" +
+            "coils around your heart like serpents.\n\n" +
+            "The chamber before you is vast and oppressive. Towering walls of\n" +
+            "obsidian black stone stretch upward, their surfaces gleaming with an\n" +
+            "unnatural sheen that reflects no light—absorbs it, swallows it whole.\n" +
+            "The very darkness seems alive, writhing at the edges of your vision.\n\n" +
+            "In the far distance, atop a throne of twisted bone and shadow,\n" +
+            "something moves. Something ancient. Something furious.\n\n" +
+            "Red eyes—terrible, burning eyes—ignite in the darkness like portals\n" +
+            "to perdition. You feel its gaze fall upon you, and you know with\n" +
+            "absolute certainty that your journey has led to this moment.\n\n" +
+            "There is no turning back now.\n";
+    private static final String SHORT_DESCRIPTION =
+            "The obsidian throne room stretches before you, its darkness " +
+            "oppressive and suffocating.";
+    private static final String AWAITING_FIGHT =
+            "\n⚠️  The creature watches you with consuming hatred. Its form\n" +
+            "radiates an oppressive aura of power and malevolence.\n" +
+            "There is only one path forward: face it in combat.\n\n" +
+            "He looks at you to make your move. (Click FIGHT Now)\n";
+    private static final String CREATURE_DESCRIPTION =
+            "\n╔════════════════════════════════════════╗\n" +
+            "║      THE CREATURE ON THE THRONE      ║\n" +
+            "╚════════════════════════════════════════╝\n\n" +
+            "You step forward, drawing closer to the throne. With each footfall,\n" +
+            "the shadow deepens, the cold intensifies, until you can scarcely feel\n" +
+            "your limbs.\n\n" +
+            "The creature rises—terrible and vast. Its form is barely corporeal,\n" +
+            "more shadow and flame than flesh. Where it stands, reality bends and\n" +
+            "warps. The very air crackles with ancient malice.\n\n" +
+            "When it speaks, its voice is like the grinding of continents, like\n" +
+            "the death screams of stars:\n\n" +
+            "     \"SO... AT LAST THE KINGDOM SENDS A CHAMPION.\n" +
+            "      HOW AMUSING. HOW PITIFUL.\n" +
+            "      I HAVE WAITED EONS FOR ONE BRAVE OR FOOLISH ENOUGH TO STAND\n" +
+            "      BEFORE ME. YOUR DEFIANCE CHANGES NOTHING. YOUR END IS WRITTEN\n" +
+            "      IN THE VERY FABRIC OF FATE.\n" +
+            "      LET US END THIS... AND YOUR SUFFERING.\"\n\n" +
+            "The creature spreads massive wings of pure darkness, blocking out all\n" +
+            "remaining light. You stand alone in the abyss, facing a power that\n" +
+            "seems utterly insurmountable.\n\n" +
+            "Only one thing remains: the battle.\n\n" +
+            "He looks at you to make your move. (Click FIGHT Now)\n";
+
+    // The room description around its grid, which is written from the render cache
+    private static final String DESCRIPTION_HEADER =
+            "═══════════════════════════════════════\n" +
+            "    BOSS CHAMBER - Obsidian Throne\n" +
+            "═══════════════════════════════════════\n\n" +
+            "A massive obsidian throne room stretches before you.\n" +
+            "The walls gleam with an unnatural black sheen, reflecting\n" +
+            "the faint red glow emanating from the far end of the chamber.\n\n" +
+            "Atop a towering throne sits an ancient creature of immense\n" +
+            "power. Its eyes burn with crimson fire, and an aura of\n" +
+            "menacing darkness radiates from its form.\n\n" +
+            "This is your final test. The creature turns to regard you,\n" +
+            "as if acknowledging your arrival for the first time.\n\n" +
+            "⚔️  TO FACE THE BOSS: Click the [⚔️ FIGHT] button ⚔️\n\n" +
+            "Room Layout:\n";
+    private static final String DESCRIPTION_FOOTER =
+            "\n" +
+            "═══════════════════════════════════════\n" +
+            "Legend: w=wall, f=floor, e=exit, d=door, p=player, @=you";
+
+    static {
+        NarrativeRegistry.register(SENSORY_DESCRIPTION, SHORT_DESCRIPTION, AWAITING_FIGHT, CREATURE_DESCRIPTION);
+    }
+
     private SagesChamber sageReference;
     private boolean bossEncounterStarted = false;
+    private GameRandom random;
+
+    // The last fight roll and where it came from: GameRandom.at(seed, draw).nextInt(100) repeats it
+    private long lastRollSeed;
+    private long lastRollDraw = -1;
+    private int lastRoll = -1;
 
     /**
      * Constructs a BossChamber with the given name.
@@ -20,6 +110,15 @@ public class BossChamber extends Room implements Exitable, Interactable {
         super(name);
     }
 
+    /**
+     * Sets the session's random number source for fight rolls.
+     * Without one, a randomly seeded source is created on the first fight.
+     * @param random the session's GameRandom
+     */
+    public void setRandom(GameRandom random) {
+        this.random = random;
+    }
+
     /**
      * Sets a reference to the sage's chamber for interaction count tracking.
      * @param sage the SagesChamber instance
@@ -30,57 +129,25 @@ public class BossChamber extends Room implements Exitable, Interactable {
 
     @Override
     public String getSensoryDescription() {
-        return "╔════════════════════════════════════════╗\n" +
-               "║     YOU ENTER THE BOSS CHAMBER      ║\n" +
-               "╚════════════════════════════════════════╝\n\n" +
-               "YOUR FINAL OBJECTIVE\n" +
-               "Everything has led to this moment. You have obtained a weapon of power.\n" +
-               "You have sought counsel from the ancient sage. Now comes the true test\n" +
-               "of your worth. Ahead waits the creature that has plagued this realm for\n" +
-               "centuries. You must defeat it, or the kingdom will perish in endless night.\n" +
-               "Steel yourself. This is the moment of reckoning.\n\n" +
-               "THE OBSIDIAN THRONE ROOM\n" +
-               "The moment you cross the threshold, reality itself seems to warp.\n" +
-               "A bone-chilling cold washes over you, so intense it steals your breath.\n" +
-               "Your breath mists in the frigid air as an overwhelming sense of dread\n" +
-               "coils around your heart like serpents.\n\n" +
-               "The chamber before you is vast and oppressive. Towering walls of\n" +
-               "obsidian black stone stretch upward, their surfaces gleaming with an\n" +
-               "unnatural sheen that reflects no light—absorbs it, swallows it whole.\n" +
-               "The very darkness seems alive, writhing at the edges of your vision.\n\n" +
-               "In the far distance, atop a throne of twisted bone and shadow,\n" +
-               "something moves. Something ancient. Something furious.\n\n" +
-               "Red eyes—terrible, burning eyes—ignite in the darkness like portals\n" +
-               "to perdition. You feel its gaze fall upon you, and you know with\n" +
-               "absolute certainty that your journey has led to this moment.\n\n" +
-               "There is no turning back now.\n";
+        return SENSORY_DESCRIPTION;
     }
 
     @Override
     public String getShortRoomDescription() {
-        return "The obsidian throne room stretches before you, its darkness " +
-               "oppressive and suffocating.";
+        return SHORT_DESCRIPTION;
     }
 
     @Override
     public String getDescription() {
         String grid = layoutGrid != null ? renderGrid() : "[Map not loaded]";
-        return "═══════════════════════════════════════\n" +
-               "    BOSS CHAMBER - Obsidian Throne\n" +
-               "═══════════════════════════════════════\n\n" +
-               "A massive obsidian throne room stretches before you.\n" +
-               "The walls gleam with an unnatural black sheen, reflecting\n" +
-               "the faint red glow emanating from the far end of the chamber.\n\n" +
-               "Atop a towering throne sits an ancient creature of immense\n" +
-               "power. Its eyes burn with crimson fire, and an aura of\n" +
-               "menacing darkness radiates from its form.\n\n" +
-               "This is your final test. The creature turns to regard you,\n" +
-               "as if acknowledging your arrival for the first time.\n\n" +
-               "⚔️  TO FACE THE BOSS: Click the [⚔️ FIGHT] button ⚔️\n\n" +
-               "Room Layout:\n" +
-               grid + "\n" +
-               "═══════════════════════════════════════\n" +
-               "Legend: w=wall, f=floor, e=exit, d=door, p=player, @=you";
+        return DESCRIPTION_HEADER + grid + DESCRIPTION_FOOTER;
+    }
+
+    @Override
+    public void writeDescription(Appendable out) throws IOException {
+        out.append(DESCRIPTION_HEADER);
+        writeGrid(out);
+        out.append(DESCRIPTION_FOOTER);
     }
 
     @Override
@@ -89,10 +156,7 @@ public class BossChamber extends Room implements Exitable, Interactable {
             bossEncounterStarted = true;
             return generateBossDescription(player);
         }
-        return "\n⚠️  The creature watches you with consuming hatred. Its form\n" +
-               "radiates an oppressive aura of power and malevolence.\n" +
-               "There is only one path forward: face it in combat.\n\n" +
-               "He looks at you to make your move. (Click FIGHT Now)\n";
+        return noChange(AWAITING_FIGHT);
     }
 
     /**
@@ -100,35 +164,19 @@ public class BossChamber extends Room implements Exitable, Interactable {
      * Includes intimidating dialogue and sensory details.
      */
     private String generateBossDescription(Player player) {
-        return "\n╔════════════════════════════════════════╗\n" +
-               "║      THE CREATURE ON THE THRONE      ║\n" +
-               "╚════════════════════════════════════════╝\n\n" +
-               "You step forward, drawing closer to the throne. With each footfall,\n" +
-               "the shadow deepens, the cold intensifies, until you can scarcely feel\n" +
-               "your limbs.\n\n" +
-               "The creature rises—terrible and vast. Its form is barely corporeal,\n" +
-               "more shadow and flame than flesh. Where it stands, reality bends and\n" +
-               "warps. The very air crackles with ancient malice.\n\n" +
-               "When it speaks, its voice is like the grinding of continents, like\n" +
-               "the death screams of stars:\n\n" +
-               "     \"SO... AT LAST THE KINGDOM SENDS A CHAMPION.\n" +
-               "      HOW AMUSING. HOW PITIFUL.\n" +
-               "      I HAVE WAITED EONS FOR ONE BRAVE OR FOOLISH ENOUGH TO STAND\n" +
-               "      BEFORE ME. YOUR DEFIANCE CHANGES NOTHING. YOUR END IS WRITTEN\n" +
-               "      IN THE VERY FABRIC OF FATE.\n" +
-               "      LET US END THIS... AND YOUR SUFFERING.\"\n\n" +
-               "The creature spreads massive wings of pure darkness, blocking out all\n" +
-               "remaining light. You stand alone in the abyss, facing a power that\n" +
-               "seems utterly insurmountable.\n\n" +
-               "Only one thing remains: the battle.\n\n" +
-               "He looks at you to make your move. (Click FIGHT Now)\n";
+        return CREATURE_DESCRIPTION;
     }
 
     @Override
     public String exit(Player player) {
         int successChance = calculateSuccessChance(player);
-        Random random = new Random();
+        if (random == null) {
+            random = new GameRandom();
+        }
+        lastRollSeed = random.getSeed();
+        lastRollDraw = random.getDraws();
         int roll = random.nextInt(100);
+        lastRoll = roll;
 
         if (roll < successChance) {
             player.addToScore(500);
@@ -138,6 +186,46 @@ public class BossChamber extends Room implements Exitable, Interactable {
         }
     }
 
+    @Override
+    protected void writeRoomState(DataOutput out) throws IOException {
+        out.writeBoolean(bossEncounterStarted);
+        out.writeLong(lastRollSeed);
+        out.writeLong(lastRollDraw);
+        out.writeInt(lastRoll);
+    }
+
+    @Override
+    protected void readRoomState(DataInput in) throws IOException {
+        bossEncounterStarted = in.readBoolean();
+        lastRollSeed = in.readLong();
+        lastRollDraw = in.readLong();
+        lastRoll = in.readInt();
+    }
+
+    /**
+     * Gets the seed of the generator that made the last fight roll.
+     * @return the seed
+     */
+    public long getLastRollSeed() {
+        return lastRollSeed;
+    }
+
+    /**
+     * Gets the generator's draw count just before the last fight roll.
+     * @return the draw count, or -1 if there has been no fight
+     */
+    public long getLastRollDraw() {
+        return lastRollDraw;
+    }
+
+    /**
+     * Gets the last fight roll, from 0 to 99; the fight is won if it is below the success chance.
+     * @return the roll, or -1 if there has been no fight
+     */
+    public int getLastRoll() {
+        return lastRoll;
+    }
+
     /**
      * Generates a victory narrative based on player preparation.
      */
@@ -148,7 +236,7 @@ public class BossChamber extends Room implements Exitable, Interactable {
         narrative.append("╚════════════════════════════════════════╝\n\n");
 
         // Determine narrative based on preparation level
-        if (player.hasItem("Iron Longsword")) {
+        if (player.hasItem(ItemRegistry.IRON_LONGSWORD)) {
             narrative.append("With the longsword raised before you, its runes blazing with\n" +
                            "sacred blue light, you charge forward. The weapon feels alive\n" +
                            "in your hands, responding to your will as if it were part of\n" +
@@ -202,7 +290,7 @@ public class BossChamber extends Room implements Exitable, Interactable {
         narrative.append("╚════════════════════════════════════════╝\n\n");
 
         int sageCount = sageReference != null ? sageReference.getInteractionCount() : 0;
-        boolean hasWeapon = player.hasItem("Iron Longsword");
+        boolean hasWeapon = player.hasItem(ItemRegistry.IRON_LONGSWORD);
 
         if (!hasWeapon) {
             narrative.append("Without a weapon, you charge the creature in desperation.\n" +
@@ -250,7 +338,7 @@ public class BossChamber extends Room implements Exitable, Interactable {
         int chance = 0;
 
         // Base: 0% (automatic failure without weapon)
-        if (!player.hasItem("Iron Longsword")) {
+        if (!player.hasItem(ItemRegistry.IRON_LONGSWORD)) {
             return 0;
         }
 
@@ -0,0 +1,160 @@
+package edu.wctc;
+
+/**
+ * The part of a room GameGUI shows: a viewport of whole tiles that follows the player,
+ * at one of several zoom levels. The viewport is centred on the player but kept inside
+ * the room, so it only scrolls in rooms larger than the view; a smaller room sits in
+ * the top-left corner.
+ *
+ * Drawing covers only the viewport's tiles, so paint cost depends on the view size
+ * rather than the room size.
+ */
+public class Camera {
+    // Tile sizes in pixels, smallest zoom first; 35 is the original size
+    public static final int[] TILE_SIZES = {14, 21, 28, 35, 49, 70};
+    private static final int DEFAULT_ZOOM = 3;
+
+    private final int margin;  // Pixels between the panel edge and the first tile
+    private int zoom = DEFAULT_ZOOM;
+    private int originRow = 0;
+    private int originCol = 0;
+    private int viewRows = 0;
+    private int viewCols = 0;
+
+    /**
+     * Constructs a Camera at the default zoom.
+     * @param margin the pixels between the panel edge and the first tile
+     */
+    public Camera(int margin) {
+        this.margin = margin;
+    }
+
+    /**
+     * Moves the viewport to follow the player and fit the panel.
+     * @param playerRow the player's row
+     * @param playerCol the player's column
+     * @param roomRows the room's row count
+     * @param roomCols the room's column count
+     * @param width the panel width in pixels
+     * @param height the panel height in pixels
+     * @return true if the viewport scrolled or changed size
+     */
+    public boolean follow(int playerRow, int playerCol, int roomRows, int roomCols, int width, int height) {
+        int tileSize = getTileSize();
+        int rows = Math.max(1, (height - 2 * margin) / tileSize);
+        int cols = Math.max(1, (width - 2 * margin) / tileSize);
+        int row = clamp(playerRow - rows / 2, 0, Math.max(0, roomRows - rows));
+        int col = clamp(playerCol - cols / 2, 0, Math.max(0, roomCols - cols));
+
+        boolean changed = row != originRow || col != originCol || rows != viewRows || cols != viewCols;
+        originRow = row;
+        originCol = col;
+        viewRows = rows;
+        viewCols = cols;
+        return changed;
+    }
+
+    /**
+     * Zooms in one level, showing fewer, larger tiles. Call follow afterwards.
+     * @return true if the zoom changed, false if already at the largest tiles
+     */
+    public boolean zoomIn() {
+        if (zoom == TILE_SIZES.length - 1) {
+            return false;
+        }
+        zoom++;
+        return true;
+    }
+
+    /**
+     * Zooms out one level, showing more, smaller tiles. Call follow afterwards.
+     * @return true if the zoom changed, false if already at the smallest tiles
+     */
+    public boolean zoomOut() {
+        if (zoom == 0) {
+            return false;
+        }
+        zoom--;
+        return true;
+    }
+
+    /**
+     * Gets the tile size at the current zoom.
+     * @return the tile size in pixels
+     */
+    public int getTileSize() {
+        return TILE_SIZES[zoom];
+    }
+
+    /**
+     * Gets the room row shown at the top of the viewport.
+     * @return the first visible row
+     */
+    public int getOriginRow() {
+        return originRow;
+    }
+
+    /**
+     * Gets the room column shown at the left of the viewport.
+     * @return the first visible column
+     */
+    public int getOriginCol() {
+        return originCol;
+    }
+
+    /**
+     * Gets how many rows the viewport shows.
+     * @return the viewport height in tiles
+     */
+    public int getViewRows() {
+        return viewRows;
+    }
+
+    /**
+     * Gets how many columns the viewport shows.
+     * @return the viewport width in tiles
+     */
+    public int getViewCols() {
+        return viewCols;
+    }
+
+    /**
+     * Gets the panel x coordinate of a column's left edge.
+     * @param col the room column
+     * @return the x coordinate in pixels
+     */
+    public int tileX(int col) {
+        return margin + (col - originCol) * getTileSize();
+    }
+
+    /**
+     * Gets the panel y coordinate of a row's top edge.
+     * @param row the room row
+     * @return the y coordinate in pixels
+     */
+    public int tileY(int row) {
+        return margin + (row - originRow) * getTileSize();
+    }
+
+    /**
+     * Gets the room column under a panel x coordinate.
+     * @param x the x coordinate in pixels
+     * @return the room column, which may be outside the room or the viewport
+     */
+    public int colAt(int x) {
+        return originCol + Math.floorDiv(x - margin, getTileSize());
+    }
+
+    /**
+     * Gets the room row under a panel y coordinate.
+     * @param y the y coordinate in pixels
+     * @return the room row, which may be outside the room or the viewport
+     */
+    public int rowAt(int y) {
+        return originRow + Math.floorDiv(y - margin, getTileSize());
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
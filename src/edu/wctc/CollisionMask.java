@@ -0,0 +1,258 @@
+package edu.wctc;
+
+/**
+ * A room's collision layer compiled into a bitset, one bit per cell (1 = blocked).
+ * The bitset is padded with a one-cell blocked border, so every in-room cell has four
+ * neighbours in the set and neighbour queries need no bounds checks.
+ * Bits are stored row-major in a long[]: (row + 1) * (cols + 2) + (col + 1).
+ */
+public class CollisionMask {
+    // Neighbour mask bits returned by neighborMask
+    public static final int NORTH = 1;
+    public static final int SOUTH = 2;
+    public static final int WEST = 4;
+    public static final int EAST = 8;
+
+    private final int rows;
+    private final int cols;
+    private final int stride;  // padded row width, cols + 2
+    private final long[] bits;
+
+    /**
+     * Constructs a mask where every cell is free.
+     * @param rows the number of rows
+     * @param cols the number of columns
+     */
+    public CollisionMask(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = cols + 2;
+        int paddedCells = (rows + 2) * stride;
+        this.bits = new long[(paddedCells + 63) >>> 6];
+
+        // Block the border
+        for (int c = 0; c < stride; c++) {
+            setBit(c);
+            setBit((rows + 1) * stride + c);
+        }
+        for (int r = 1; r <= rows; r++) {
+            setBit(r * stride);
+            setBit(r * stride + cols + 1);
+        }
+    }
+
+    /**
+     * Compiles a collision layer where '1' marks a blocked cell.
+     * @param grid the collision layer
+     * @return the compiled mask
+     */
+    public static CollisionMask fromGrid(RoomGrid grid) {
+        CollisionMask mask = new CollisionMask(grid.getRows(), grid.getCols());
+        for (int r = 0; r < grid.getRows(); r++) {
+            for (int c = 0; c < grid.getCols(); c++) {
+                if (grid.get(r, c) == '1') {
+                    mask.setBit(mask.index(r, c));
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the number of rows.
+     * @return the row count
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns.
+     * @return the column count
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Checks whether a cell blocks movement. Cells outside the room are blocked.
+     * @param row the row index
+     * @param col the column index
+     * @return true if the cell is blocked
+     */
+    public boolean isBlocked(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return true;
+        }
+        return bit(index(row, col)) != 0;
+    }
+
+    /**
+     * Gets which of a cell's four neighbours are blocked, as a combination of
+     * NORTH, SOUTH, WEST and EAST. Neighbours outside the room count as blocked.
+     * @param row the row index, inside the room
+     * @param col the column index, inside the room
+     * @return the neighbour mask
+     */
+    public int neighborMask(int row, int col) {
+        int i = index(row, col);
+        return (int) (bit(i - stride)
+                | bit(i + stride) << 1
+                | bit(i - 1) << 2
+                | bit(i + 1) << 3);
+    }
+
+    /**
+     * Checks whether every cell from fromCol to toCol (inclusive) in a row is free.
+     * @param row the row index
+     * @param fromCol the first column
+     * @param toCol the last column
+     * @return true if the whole span is in the room and free
+     */
+    public boolean isRowSpanFree(int row, int fromCol, int toCol) {
+        if (row < 0 || row >= rows || fromCol < 0 || toCol >= cols || fromCol > toCol) {
+            return false;
+        }
+        int from = index(row, fromCol);
+        int to = index(row, toCol);
+        int fromWord = from >>> 6;
+        int toWord = to >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> (63 - (to & 63));
+
+        if (fromWord == toWord) {
+            return (bits[fromWord] & firstMask & lastMask) == 0;
+        }
+        if ((bits[fromWord] & firstMask) != 0 || (bits[toWord] & lastMask) != 0) {
+            return false;
+        }
+        for (int w = fromWord + 1; w < toWord; w++) {
+            if (bits[w] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether every cell from fromRow to toRow (inclusive) in a column is free.
+     * @param col the column index
+     * @param fromRow the first row
+     * @param toRow the last row
+     * @return true if the whole span is in the room and free
+     */
+    public boolean isColumnSpanFree(int col, int fromRow, int toRow) {
+        if (col < 0 || col >= cols || fromRow < 0 || toRow >= rows || fromRow > toRow) {
+            return false;
+        }
+        long blocked = 0;
+        for (int i = index(fromRow, col), end = index(toRow, col); i <= end; i += stride) {
+            blocked |= bit(i);
+        }
+        return blocked == 0;
+    }
+
+    /**
+     * Checks whether a height x width rectangle with its top-left corner at (row, col)
+     * lies in the room without overlapping any blocked cell, e.g. for multi-tile entities.
+     * @param row the top row
+     * @param col the left column
+     * @param height the number of rows covered
+     * @param width the number of columns covered
+     * @return true if the rectangle is entirely free
+     */
+    public boolean isRectFree(int row, int col, int height, int width) {
+        if (height <= 0 || width <= 0) {
+            return false;
+        }
+        for (int r = row; r < row + height; r++) {
+            if (!isRowSpanFree(r, col, col + width - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the next free cell at or after a row-major cell index (row * cols + col).
+     * Skips whole blocked words at a time; use it to iterate free cells:
+     * {@code for (int i = mask.nextFreeCell(0); i >= 0; i = mask.nextFreeCell(i + 1))}
+     * @param fromIndex the row-major index to start from
+     * @return the row-major index of the next free cell, or -1 if there is none
+     */
+    public int nextFreeCell(int fromIndex) {
+        if (fromIndex >= rows * cols) {
+            return -1;
+        }
+        int from = Math.max(fromIndex, 0);
+        int start = index(from / cols, from % cols);
+        int w = start >>> 6;
+        long free = freeBits(w) & (-1L << start);
+        while (free == 0) {
+            if (++w >= bits.length) {
+                return -1;
+            }
+            free = freeBits(w);
+        }
+
+        // The border is always blocked, so any free bit is inside the room
+        int padded = (w << 6) + Long.numberOfTrailingZeros(free);
+        return (padded / stride - 1) * cols + (padded % stride - 1);
+    }
+
+    /**
+     * Counts the blocked cells inside the room.
+     * @return the number of blocked cells
+     */
+    public int countBlocked() {
+        int total = 0;
+        for (long word : bits) {
+            total += Long.bitCount(word);
+        }
+        int border = 2 * stride + 2 * rows;
+        return total - border;
+    }
+
+    /**
+     * Estimates the heap used by this mask.
+     * @return the estimated size in bytes
+     */
+    public long getSizeInBytes() {
+        return estimateBytes(rows, cols);
+    }
+
+    /**
+     * Estimates the heap used by a rows x cols mask: object and array headers plus one bit per padded cell.
+     * @param rows the row count
+     * @param cols the column count
+     * @return the estimated size in bytes
+     */
+    public static long estimateBytes(int rows, int cols) {
+        long paddedCells = (long) (rows + 2) * (cols + 2);
+        return 32 + 16 + ((paddedCells + 63) >>> 6) * 8;
+    }
+
+    private int index(int row, int col) {
+        return (row + 1) * stride + (col + 1);
+    }
+
+    private long bit(int i) {
+        return (bits[i >>> 6] >>> i) & 1L;
+    }
+
+    /**
+     * Gets the free (clear) bits of a word, ignoring unused bits past the padded grid.
+     */
+    private long freeBits(int w) {
+        long free = ~bits[w];
+        int used = ((rows + 2) * stride) & 63;
+        if (w == bits.length - 1 && used != 0) {
+            free &= -1L >>> (64 - used);
+        }
+        return free;
+    }
+
+    private void setBit(int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+}
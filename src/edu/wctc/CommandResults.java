@@ -0,0 +1,128 @@
+package edu.wctc;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of the results of a batch of commands, filled by
+ * {@link Maze#executeBatch(byte[], int, int, CommandResults)}.
+ * Each entry holds the opcode, a status and, if kept, the result text. Clear and
+ * reuse the same buffer across batches; it only grows when a batch is larger than before.
+ */
+public class CommandResults {
+    public static final byte OK = 0;        // The command did what it asked
+    public static final byte FAILED = 1;    // Nothing happened, e.g. no exit or nothing to loot
+    public static final byte UNKNOWN = 2;   // Not a command
+    public static final byte SKIPPED = 3;   // Not run because the game had already ended
+
+    private final boolean keepMessages;
+    private byte[] opcodes;
+    private byte[] statuses;
+    private String[] messages;
+    private int size = 0;
+
+    /**
+     * Constructs an empty buffer.
+     * @param capacity the initial number of entries
+     * @param keepMessages true to keep each command's result text, false for statuses only
+     */
+    public CommandResults(int capacity, boolean keepMessages) {
+        this.keepMessages = keepMessages;
+        this.opcodes = new byte[Math.max(capacity, 1)];
+        this.statuses = new byte[opcodes.length];
+        this.messages = keepMessages ? new String[opcodes.length] : null;
+    }
+
+    /**
+     * Empties the buffer, keeping its capacity.
+     */
+    public void clear() {
+        if (keepMessages) {
+            Arrays.fill(messages, 0, size, null);
+        }
+        size = 0;
+    }
+
+    /**
+     * Records one command's result.
+     */
+    void add(byte opcode, byte status, String message) {
+        if (size == opcodes.length) {
+            int capacity = opcodes.length * 2;
+            opcodes = Arrays.copyOf(opcodes, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            if (keepMessages) {
+                messages = Arrays.copyOf(messages, capacity);
+            }
+        }
+        opcodes[size] = opcode;
+        statuses[size] = status;
+        if (keepMessages) {
+            messages[size] = message;
+        }
+        size++;
+    }
+
+    /**
+     * Gets the number of results.
+     * @return the result count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the opcode of a result.
+     * @param i the result index
+     * @return the opcode
+     */
+    public byte getOpcode(int i) {
+        return opcodes[i];
+    }
+
+    /**
+     * Gets the status of a result.
+     * @param i the result index
+     * @return OK, FAILED, UNKNOWN or SKIPPED
+     */
+    public byte getStatus(int i) {
+        return statuses[i];
+    }
+
+    /**
+     * Gets the result text of a command.
+     * @param i the result index
+     * @return the text, or null if messages are not kept or the command was skipped
+     */
+    public String getMessage(int i) {
+        return keepMessages ? messages[i] : null;
+    }
+
+    /**
+     * Counts the results with a status.
+     * @param status the status
+     * @return the number of results
+     */
+    public int count(byte status) {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == status) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Writes every kept result text, one per line, e.g. to a console in one flush.
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    public void appendTo(Appendable out) throws IOException {
+        for (int i = 0; i < size; i++) {
+            if (keepMessages && messages[i] != null) {
+                out.append(messages[i]).append('\n');
+            }
+        }
+    }
+}
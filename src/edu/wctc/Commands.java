@@ -0,0 +1,99 @@
+package edu.wctc;
+
+import java.util.Arrays;
+
+/**
+ * Compiles game commands into a compact opcode stream for batched execution.
+ * Each command is one byte, so bots, scripts and remote clients can send thousands
+ * of commands to {@link Maze#executeBatch(byte[], int, int, CommandResults)} in one call.
+ *
+ * Command letters are the console's: n, s, e, w, u, d (move), i (interact), l (loot),
+ * x (exit) and v (inventory), in either case.
+ */
+public class Commands {
+    public static final byte NORTH = 0;
+    public static final byte SOUTH = 1;
+    public static final byte EAST = 2;
+    public static final byte WEST = 3;
+    public static final byte UP = 4;
+    public static final byte DOWN = 5;
+    public static final byte INTERACT = 6;
+    public static final byte LOOT = 7;
+    public static final byte EXIT = 8;
+    public static final byte INVENTORY = 9;
+    public static final byte UNKNOWN = 10;
+
+    // Command letter for each opcode, indexed by opcode
+    private static final String LETTERS = "nsewudilxv";
+    // Opcode for each ASCII character
+    private static final byte[] OPCODES = new byte[128];
+
+    static {
+        Arrays.fill(OPCODES, UNKNOWN);
+        for (byte op = 0; op < LETTERS.length(); op++) {
+            OPCODES[LETTERS.charAt(op)] = op;
+            OPCODES[Character.toUpperCase(LETTERS.charAt(op))] = op;
+        }
+    }
+
+    private Commands() {
+    }
+
+    /**
+     * Gets the opcode for a command letter.
+     * @param command the command letter
+     * @return the opcode, or UNKNOWN
+     */
+    public static byte opcode(char command) {
+        return command < OPCODES.length ? OPCODES[command] : UNKNOWN;
+    }
+
+    /**
+     * Gets the command letter for an opcode.
+     * @param opcode the opcode
+     * @return the lowercase command letter, or '?' for UNKNOWN
+     */
+    public static char letter(byte opcode) {
+        return opcode >= 0 && opcode < LETTERS.length() ? LETTERS.charAt(opcode) : '?';
+    }
+
+    /**
+     * Checks whether an opcode moves the player.
+     * @param opcode the opcode
+     * @return true for NORTH through DOWN
+     */
+    public static boolean isMove(byte opcode) {
+        return opcode >= NORTH && opcode <= DOWN;
+    }
+
+    /**
+     * Compiles a command script into opcodes. Every character is one command, except
+     * whitespace, commas and semicolons, which separate commands and are skipped.
+     * @param script the commands, e.g. "l e e i i x" or "leeiix"
+     * @return the opcodes
+     */
+    public static byte[] compile(CharSequence script) {
+        byte[] opcodes = new byte[script.length()];
+        int count = compile(script, opcodes, 0);
+        return count == opcodes.length ? opcodes : Arrays.copyOf(opcodes, count);
+    }
+
+    /**
+     * Compiles a command script into an existing opcode buffer, allocating nothing.
+     * @param script the commands
+     * @param opcodes the buffer, with room for script.length() opcodes after offset
+     * @param offset where to start writing
+     * @return the number of opcodes written
+     */
+    public static int compile(CharSequence script, byte[] opcodes, int offset) {
+        int count = 0;
+        for (int i = 0; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (Character.isWhitespace(c) || c == ',' || c == ';') {
+                continue;
+            }
+            opcodes[offset + count++] = opcode(c);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,83 @@
+package edu.wctc;
+
+/**
+ * A room's static layout with its objects drawn over it, as GameGUI paints it.
+ * The cells are kept between paints; object edits are patched in cell by cell from
+ * the room's recent edits, and the whole layer is rebuilt only when the room's maps
+ * are reloaded or more edits were made than the room remembers. The player is drawn
+ * over them separately.
+ */
+public class CompositeLayer {
+    private final Room room;
+    private final int[] editedCells = new int[Room.RECENT_EDITS];
+    private RoomGrid builtLayout;
+    private int builtObjectEdits = -1;
+    private char[][] cells;
+
+    /**
+     * Constructs a CompositeLayer. The cells are built on first use.
+     * @param room the room to composite
+     */
+    public CompositeLayer(Room room) {
+        this.room = room;
+    }
+
+    /**
+     * Gets the room this layer composites.
+     * @return the room
+     */
+    public Room getRoom() {
+        return room;
+    }
+
+    /**
+     * Gets the composited cells, bringing them up to date first if the room has changed.
+     * @return the cells, row by row; must not be modified, or null if the maps are not loaded
+     */
+    public char[][] getCells() {
+        RoomGrid layout = room.layoutGrid;
+        if (layout == null) {
+            cells = null;  // Let the unloaded room's copy go too
+            builtLayout = null;
+            return null;
+        }
+        if (layout != builtLayout) {
+            rebuild(layout);
+        } else if (room.getObjectEditCount() != builtObjectEdits) {
+            int edited = room.getObjectCellsEditedSince(builtObjectEdits, editedCells);
+            if (edited < 0) {
+                rebuild(layout);
+            } else {
+                int cols = layout.getCols();
+                for (int i = 0; i < edited; i++) {
+                    compose(layout, room.objectsGrid, editedCells[i] / cols, editedCells[i] % cols);
+                }
+                builtObjectEdits += edited;
+            }
+        }
+        return cells;
+    }
+
+    private void rebuild(RoomGrid layout) {
+        // Read the edit count first: an edit made during the rebuild is patched in next time
+        int objectEdits = room.getObjectEditCount();
+        int rows = layout.getRows();
+        int cols = layout.getCols();
+        if (cells == null || cells.length != rows || (rows > 0 && cells[0].length != cols)) {
+            cells = new char[rows][cols];
+        }
+        RoomGrid objects = room.objectsGrid;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                compose(layout, objects, i, j);
+            }
+        }
+        builtLayout = layout;
+        builtObjectEdits = objectEdits;
+    }
+
+    private void compose(RoomGrid layout, RoomGrid objects, int row, int col) {
+        char obj = objects != null && objects.contains(row, col) ? objects.get(row, col) : ' ';
+        cells[row][col] = obj != ' ' ? obj : layout.get(row, col);
+    }
+}
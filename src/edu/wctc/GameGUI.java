@@ -14,7 +14,7 @@ import javax.swing.Timer;
 public class GameGUI extends JFrame {
 
     private Maze maze;
-    private JTextPane narrativeArea;
+    private NarrativeView narrativeArea;
     private JLabel roomLabel;
     private JLabel scoreLabel;
     private JLabel inventoryLabel;
@@ -27,24 +27,43 @@ public class GameGUI extends JFrame {
     private int playerCol = 5;
     private String lastRoomName = "";  // Track room changes
 
-    private static final int TILE_SIZE = 35;
-    private static final int GRID_WIDTH = 12;
-    private static final int GRID_HEIGHT = 12;
-
-    // Colors
-    private static final Color WALL_COLOR = new Color(51, 51, 51);
-    private static final Color FLOOR_COLOR = new Color(136, 136, 136);
-    private static final Color PLAYER_COLOR = new Color(255, 215, 0);
-    private static final Color WEAPON_COLOR = new Color(255, 99, 71);
-    private static final Color NPC_COLOR = new Color(65, 105, 225);
-    private static final Color DOOR_COLOR = new Color(50, 205, 50);
-    private static final Color EXIT_COLOR = new Color(255, 20, 147);
+    // What the map panel last showed, so only changed tiles are repainted
+    private Room paintedRoom;
+    private RoomGrid paintedLayout;
+    private int paintedRow = -1;
+    private int paintedCol = -1;
+    private int paintedObjectEdits = -1;
+    private final int[] editedCells = new int[Room.RECENT_EDITS];  // Reused by each repaint
+
+    // What the labels last showed, so they are only set when a value changes
+    private String shownRoomName;
+    private int shownScore = -1;
+    private String shownInventory;
+
+    // Map panel size in tiles at the default zoom, and the size of the fallback room
+    // shown when a room's maps did not load; rooms themselves can be any size
+    private static final int VIEW_TILES = 12;
+    private static final int DEFAULT_ROOM_SIZE = 12;
+
+    // The visible part of the room; scroll the mouse wheel over the map to zoom
+    private final Camera camera = new Camera(10);
+
+    // Map tiles, rendered once and rebuilt when the tile size, display or its scale changes
+    private TileAtlas tileAtlas;
+    private final Rectangle clipBounds = new Rectangle();  // Reused by each paint
+
+    // The current room's layout and objects, composited once and redrawn with the player
+    // over them; only the current room's is kept, so rooms left behind can be unloaded
+    private CompositeLayer roomLayer;
+    private static final char[][] DEFAULT_LAYOUT = createDefaultLayout();
+
+    // Colors (tile colors are in TileAtlas)
     private static final Color BG_COLOR = new Color(26, 26, 26);
     private static final Color TEXT_COLOR = new Color(200, 200, 200);
 
     public GameGUI() {
         try {
-            maze = new Maze();
+            maze = new Maze();  // Logs any map that fails to load, now or as rooms are entered
             setupUI();
             updateDisplay();
         } catch (Exception e) {
@@ -142,7 +161,24 @@ public class GameGUI extends JFrame {
         };
         mapPanel.setBackground(new Color(34, 34, 34));
         mapPanel.setBorder(BorderFactory.createLineBorder(new Color(68, 68, 68), 2));
-        mapPanel.setPreferredSize(new Dimension(TILE_SIZE * GRID_WIDTH + 20, TILE_SIZE * GRID_HEIGHT + 20));
+        mapPanel.setPreferredSize(new Dimension(camera.getTileSize() * VIEW_TILES + 20, camera.getTileSize() * VIEW_TILES + 20));
+        mapPanel.addMouseWheelListener(e -> {
+            boolean zoomed = e.getWheelRotation() < 0 ? camera.zoomIn() : camera.zoomOut();
+            if (zoomed) {
+                followPlayer();
+                mapPanel.repaint();
+            }
+        });
+        mapPanel.addComponentListener(new java.awt.event.ComponentAdapter() {
+            public void componentResized(java.awt.event.ComponentEvent evt) {
+                followPlayer();
+                mapPanel.repaint();
+            }
+        });
+        // The display scale is checked when the panel moves to another screen or window,
+        // not on each paint, which would copy the transform every frame
+        mapPanel.addHierarchyListener(e -> checkAtlasScale());
+        mapPanel.addPropertyChangeListener("graphicsConfiguration", e -> checkAtlasScale());
 
         // RIGHT: Narrative area
         JPanel narrativePanel = new JPanel(new BorderLayout(10, 10));
@@ -153,13 +189,12 @@ public class GameGUI extends JFrame {
         narrativeTitle.setFont(new Font("Arial", Font.BOLD, 14));
         narrativeTitle.setForeground(new Color(255, 215, 0));
 
-        narrativeArea = new JTextPane();
-        narrativeArea.setEditable(false);
+        // Bounded log drawn a screenful at a time, so long sessions stay fast
+        narrativeArea = new NarrativeView(new NarrativeLog(), new Font("Courier New", Font.PLAIN, 12));
         narrativeArea.setBackground(new Color(26, 26, 26));
-        narrativeArea.setFont(new Font("Courier New", Font.PLAIN, 12));
-        narrativeArea.setText("Welcome to The Maze!\n\n" +
+        narrativeArea.append("Welcome to The Maze!\n\n" +
                             "Your quest:\n1. Find and loot the weapon\n2. Talk to the Sage for knowledge\n3. Defeat the Boss\n\n" +
-                            "Good luck, adventurer!\n\n");
+                            "Good luck, adventurer!\n\n", NarrativeLog.PLAIN);
 
         JScrollPane scrollPane = new JScrollPane(narrativeArea);
         scrollPane.getViewport().setBackground(new Color(26, 26, 26));
@@ -255,9 +290,8 @@ public class GameGUI extends JFrame {
                     int checkRow = playerRow + dir[0];
                     int checkCol = playerCol + dir[1];
 
-                    if (checkRow >= 0 && checkRow < GRID_HEIGHT &&
-                        checkCol >= 0 && checkCol < GRID_WIDTH) {
-                        char cellContent = currentRoom.layoutGrid[checkRow][checkCol];
+                    if (currentRoom.layoutGrid.contains(checkRow, checkCol)) {
+                        char cellContent = MapLoader.getCellAt(currentRoom.layoutGrid, checkRow, checkCol);
                         if (cellContent == 'd') {
                             doorRow = checkRow;
                             doorCol = checkCol;
@@ -271,22 +305,12 @@ public class GameGUI extends JFrame {
             if (doorRow >= 0 && doorCol >= 0) {
                 appendNarrative("You walk through the door...");
 
-                // Determine which direction to go based on door location
-                char directionToMove = 'e';  // Default to east
+                // The door's portal gives the next room and where to stand in it
+                int[] arrival = maze.moveThroughDoor(doorRow, doorCol);
 
-                if (currentRoom != null && currentRoom.layoutGrid != null) {
-                    // Check which side the door is on
-                    if (doorCol == 0) {
-                        directionToMove = 'w';  // Door on left wall, go west
-                    } else if (doorCol == GRID_WIDTH - 1) {
-                        directionToMove = 'e';  // Door on right wall, go east
-                    }
-                }
-
-                boolean moved = maze.move(directionToMove);
-
-                if (moved) {
+                if (arrival != null) {
                     appendNarrative("You enter the next room.");
+                    maze.prefetchAdjacentRooms();
 
                     // Display sensory narrative if first entry
                     String entranceNarrative = maze.getLastEntranceNarrative();
@@ -294,26 +318,13 @@ public class GameGUI extends JFrame {
                         appendSensoryNarrative(entranceNarrative);
                     }
 
-                    // After transition, position player at the corresponding door in new room
-                    Room newRoom = maze.getCurrentRoom();
-                    if (newRoom != null && newRoom.layoutGrid != null) {
-                        // Find the door in the new room's layout and position player next to it
-                        for (int i = 0; i < GRID_HEIGHT; i++) {
-                            for (int j = 0; j < GRID_WIDTH; j++) {
-                                if (newRoom.layoutGrid[i][j] == 'd') {
-                                    // Place player next to the door in the same row
-                                    if (j == 0) {
-                                        playerCol = 1;  // Door on left wall, stand right of it
-                                    } else if (j == GRID_WIDTH - 1) {
-                                        playerCol = GRID_WIDTH - 2;  // Door on right wall, stand left of it
-                                    }
-                                    playerRow = i;  // Same row as door
-                                    lastRoomName = newRoom.getName();  // Update room tracker
-                                    updateDisplay();
-                                    return;
-                                }
-                            }
-                        }
+                    // Stand beside the matching door in the new room
+                    if (arrival[0] >= 0) {
+                        playerRow = arrival[0];
+                        playerCol = arrival[1];
+                        lastRoomName = maze.getCurrentRoom().getName();  // Update room tracker
+                        updateDisplay();
+                        return;
                     }
                 } else {
                     appendNarrative("The door is locked!");
@@ -356,9 +367,9 @@ public class GameGUI extends JFrame {
 
             // Use colored narratives for boss fight outcomes
             if (result.contains("VICTORY")) {
-                appendNarrativeWithColor(result, new Color(144, 238, 144));  // Green for victory
+                appendNarrativeWithColor(result, NarrativeLog.NARRATIVE);  // Green for victory
             } else if (result.contains("DEFEAT") || result.contains("GAME OVER")) {
-                appendNarrativeWithColor(result, new Color(255, 99, 71));  // Red for defeat
+                appendNarrativeWithColor(result, NarrativeLog.DANGER);  // Red for defeat
             } else if (result.contains("CREATURE") || result.contains("Sage speaks")) {
                 appendBossNarrative(result);
             } else {
@@ -432,14 +443,15 @@ public class GameGUI extends JFrame {
             default: return false;
         }
 
-        // Check bounds
-        if (newRow < 0 || newRow >= GRID_HEIGHT || newCol < 0 || newCol >= GRID_WIDTH) {
+        // Check bounds against the room's own size; an empty map file gives a room with no rows
+        char[][] cells = getCurrentRoomCells();
+        if (cells.length == 0 || newRow < 0 || newRow >= cells.length || newCol < 0 || newCol >= cells[0].length) {
             return false;
         }
 
-        // Check collision (assuming we have access to current room's collision grid)
-        char[][] collision = getCurrentRoomCollisionGrid();
-        if (collision != null && collision[newRow][newCol] == '1') {
+        // Check collision (assuming we have access to current room's collision mask)
+        CollisionMask collision = getCurrentRoomCollisionMask();
+        if (collision != null && collision.isBlocked(newRow, newCol)) {
             return false;  // Wall or obstacle
         }
 
@@ -450,16 +462,16 @@ public class GameGUI extends JFrame {
     }
 
     /**
-     * Get the collision grid for the current room.
+     * Get the collision mask for the current room.
      */
-    private char[][] getCurrentRoomCollisionGrid() {
+    private CollisionMask getCurrentRoomCollisionMask() {
         try {
             Room currentRoom = maze.getCurrentRoom();
-            if (currentRoom != null && currentRoom.collisionGrid != null) {
-                return currentRoom.collisionGrid;
+            if (currentRoom != null && currentRoom.collisionMask != null) {
+                return currentRoom.collisionMask;
             }
         } catch (Exception e) {
-            // If we can't access collision grid, allow movement
+            // If we can't access collision mask, allow movement
         }
         return null;
     }
@@ -489,139 +501,106 @@ public class GameGUI extends JFrame {
 
     private void drawMap(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        char[][] layout = getCurrentRoomLayout();
+        if (tileAtlas == null || !tileAtlas.isValidFor(g2, camera.getTileSize())) {
+            tileAtlas = new TileAtlas(g2, camera.getTileSize());
+        }
+        // getClipBounds leaves the rectangle as is when there is no clip
+        clipBounds.setBounds(0, 0, mapPanel.getWidth(), mapPanel.getHeight());
+        drawMap(g2, tileAtlas, getCurrentRoomCells(), playerRow, playerCol, camera, g2.getClipBounds(clipBounds));
+    }
 
-        int startX = 10;
-        int startY = 10;
+    /**
+     * Drops the tile atlas if the map panel's display scale no longer matches it,
+     * so the next paint renders the tiles again.
+     */
+    private void checkAtlasScale() {
+        GraphicsConfiguration config = mapPanel.getGraphicsConfiguration();
+        if (tileAtlas != null && config != null && !tileAtlas.matchesScale(config)) {
+            tileAtlas = null;
+            mapPanel.repaint();
+        }
+    }
 
-        for (int row = 0; row < GRID_HEIGHT; row++) {
-            for (int col = 0; col < GRID_WIDTH; col++) {
-                int x = startX + col * TILE_SIZE;
-                int y = startY + row * TILE_SIZE;
+    /**
+     * Draws the camera's view of a map as tile blits, then the grid lines along the room's
+     * right and bottom edges if they are in view (each tile carries its own top and left
+     * lines), then the player over them. Only tiles in both the viewport and the clip are
+     * drawn, so the cost does not depend on the room size, and nothing is allocated.
+     * @param g where to draw
+     * @param atlas the tiles, at the camera's tile size
+     * @param layout the layout and objects to draw
+     * @param playerRow the player's row, or -1 to leave the player out
+     * @param playerCol the player's column
+     * @param camera the visible part of the map
+     * @param clip the area to draw, or null for the whole viewport
+     */
+    static void drawMap(Graphics2D g, TileAtlas atlas, char[][] layout, int playerRow, int playerCol,
+                        Camera camera, Rectangle clip) {
+        int rows = layout.length;
+        int cols = rows > 0 ? layout[0].length : 0;
+
+        // Visible tile range: the viewport, narrowed to the clip
+        int firstRow = camera.getOriginRow();
+        int lastRow = Math.min(rows, firstRow + camera.getViewRows()) - 1;
+        int firstCol = camera.getOriginCol();
+        int lastCol = Math.min(cols, firstCol + camera.getViewCols()) - 1;
+        if (clip != null) {
+            firstRow = Math.max(firstRow, camera.rowAt(clip.y));
+            lastRow = Math.min(lastRow, camera.rowAt(clip.y + clip.height));
+            firstCol = Math.max(firstCol, camera.colAt(clip.x));
+            lastCol = Math.min(lastCol, camera.colAt(clip.x + clip.width));
+        }
+        if (firstRow > lastRow || firstCol > lastCol) {
+            return;
+        }
 
-                drawTile(g2, x, y, layout[row][col]);
+        for (int row = firstRow; row <= lastRow; row++) {
+            char[] cells = layout[row];
+            int y = camera.tileY(row);
+            for (int col = firstCol; col <= lastCol; col++) {
+                atlas.draw(g, cells[col], camera.tileX(col), y);
             }
         }
 
-        // Grid lines
-        g2.setColor(new Color(68, 68, 68));
-        g2.setStroke(new BasicStroke(0.5f));
-        for (int i = 0; i <= GRID_WIDTH; i++) {
-            g2.drawLine(startX + i * TILE_SIZE, startY, startX + i * TILE_SIZE, startY + GRID_HEIGHT * TILE_SIZE);
+        g.setColor(TileAtlas.GRID_COLOR);
+        if (lastCol == cols - 1) {
+            g.drawLine(camera.tileX(cols), camera.tileY(firstRow), camera.tileX(cols), camera.tileY(lastRow + 1));
         }
-        for (int i = 0; i <= GRID_HEIGHT; i++) {
-            g2.drawLine(startX, startY + i * TILE_SIZE, startX + GRID_WIDTH * TILE_SIZE, startY + i * TILE_SIZE);
+        if (lastRow == rows - 1) {
+            g.drawLine(camera.tileX(firstCol), camera.tileY(rows), camera.tileX(lastCol + 1), camera.tileY(rows));
         }
-    }
 
-    private void drawTile(Graphics2D g, int x, int y, char cellType) {
-        switch (cellType) {
-            case 'w':
-                g.setColor(WALL_COLOR);
-                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
-                break;
-            case 'f':
-                g.setColor(FLOOR_COLOR);
-                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
-                break;
-            case '@':
-                g.setColor(PLAYER_COLOR);
-                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
-                g.setColor(Color.BLACK);
-                g.setFont(new Font("Arial", Font.BOLD, 18));
-                g.drawString("@", x + 12, y + 24);
-                break;
-            case 'W':
-                g.setColor(WEAPON_COLOR);
-                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
-                g.setColor(Color.WHITE);
-                g.setFont(new Font("Arial", Font.BOLD, 14));
-                g.drawString("W", x + 12, y + 22);
-                break;
-            case 'n':
-                g.setColor(NPC_COLOR);
-                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
-                g.setColor(Color.WHITE);
-                g.setFont(new Font("Arial", Font.BOLD, 14));
-                g.drawString("n", x + 13, y + 22);
-                break;
-            case 'd':
-                g.setColor(DOOR_COLOR);
-                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
-                g.setColor(Color.BLACK);
-                g.setFont(new Font("Arial", Font.BOLD, 14));
-                g.drawString("d", x + 13, y + 22);
-                break;
-            case 'e':
-                g.setColor(EXIT_COLOR);
-                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
-                g.setColor(Color.WHITE);
-                g.setFont(new Font("Arial", Font.BOLD, 14));
-                g.drawString("e", x + 13, y + 22);
-                break;
-            default:
-                g.setColor(FLOOR_COLOR);
-                g.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+        // Overlay pass: the player is not part of the cached layer
+        if (playerRow >= firstRow && playerRow <= lastRow && playerCol >= firstCol && playerCol <= lastCol) {
+            atlas.draw(g, '@', camera.tileX(playerCol), camera.tileY(playerRow));
         }
     }
 
-    private char[][] getCurrentRoomLayout() {
-        try {
-            Room currentRoom = maze.getCurrentRoom();
-            if (currentRoom == null) {
-                return createDefaultLayout();
-            }
-
-            // Use the actual CSV layout from the room
-            if (currentRoom.layoutGrid != null) {
-                // Create a copy to avoid modifying the original
-                char[][] displayGrid = new char[GRID_HEIGHT][GRID_WIDTH];
-
-                // Copy layout
-                for (int i = 0; i < Math.min(GRID_HEIGHT, currentRoom.layoutGrid.length); i++) {
-                    for (int j = 0; j < Math.min(GRID_WIDTH, currentRoom.layoutGrid[i].length); j++) {
-                        displayGrid[i][j] = currentRoom.layoutGrid[i][j];
-                    }
-                }
-
-                // Overlay objects if available
-                if (currentRoom.objectsGrid != null) {
-                    for (int i = 0; i < Math.min(GRID_HEIGHT, currentRoom.objectsGrid.length); i++) {
-                        for (int j = 0; j < Math.min(GRID_WIDTH, currentRoom.objectsGrid[i].length); j++) {
-                            char obj = currentRoom.objectsGrid[i][j];
-                            if (obj != ' ') {
-                                displayGrid[i][j] = obj;
-                            }
-                        }
-                    }
-                }
-
-                // Place player at tracked position
-                if (playerRow >= 0 && playerRow < GRID_HEIGHT &&
-                    playerCol >= 0 && playerCol < GRID_WIDTH) {
-                    displayGrid[playerRow][playerCol] = '@';
-                }
-
-                return displayGrid;
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading room layout: " + e.getMessage());
+    /**
+     * Gets the current room's composited layout and objects, or a plain walled room
+     * if its maps are not loaded. Updates nothing unless the room or its objects changed.
+     */
+    private char[][] getCurrentRoomCells() {
+        Room currentRoom = maze.getCurrentRoom();
+        if (currentRoom == null) {
+            return DEFAULT_LAYOUT;
         }
-
-        return createDefaultLayout();
+        if (roomLayer == null || roomLayer.getRoom() != currentRoom) {
+            roomLayer = new CompositeLayer(currentRoom);
+        }
+        char[][] cells = roomLayer.getCells();
+        return cells != null ? cells : DEFAULT_LAYOUT;
     }
 
     /**
      * Create a default layout if none is available.
      */
-    private char[][] createDefaultLayout() {
-        char[][] layout = new char[GRID_HEIGHT][GRID_WIDTH];
+    private static char[][] createDefaultLayout() {
+        char[][] layout = new char[DEFAULT_ROOM_SIZE][DEFAULT_ROOM_SIZE];
 
-        for (int i = 0; i < GRID_HEIGHT; i++) {
-            for (int j = 0; j < GRID_WIDTH; j++) {
-                if (i == 0 || i == GRID_HEIGHT - 1 || j == 0 || j == GRID_WIDTH - 1) {
+        for (int i = 0; i < DEFAULT_ROOM_SIZE; i++) {
+            for (int j = 0; j < DEFAULT_ROOM_SIZE; j++) {
+                if (i == 0 || i == DEFAULT_ROOM_SIZE - 1 || j == 0 || j == DEFAULT_ROOM_SIZE - 1) {
                     layout[i][j] = 'w';
                 } else {
                     layout[i][j] = 'f';
@@ -629,9 +608,6 @@ public class GameGUI extends JFrame {
             }
         }
 
-        // Place player
-        layout[playerRow][playerCol] = '@';
-
         return layout;
     }
 
@@ -642,66 +618,120 @@ public class GameGUI extends JFrame {
         if (!currentRoomName.equals(lastRoomName)) {
             // Room changed - reset player position to spawn point
             lastRoomName = currentRoomName;
+            maze.prefetchAdjacentRooms();
             Room currentRoom = maze.getCurrentRoom();
             if (currentRoom != null && currentRoom.objectsGrid != null) {
                 // Look for player spawn position 'p' in objects grid
-                boolean foundPlayer = false;
-                for (int i = 0; i < currentRoom.objectsGrid.length && !foundPlayer; i++) {
-                    for (int j = 0; j < currentRoom.objectsGrid[i].length && !foundPlayer; j++) {
-                        if (currentRoom.objectsGrid[i][j] == 'p') {
-                            playerRow = i;
-                            playerCol = j;
-                            foundPlayer = true;
-                        }
-                    }
+                int[] spawn = currentRoom.findObject('p');
+                boolean foundPlayer = spawn[0] >= 0;
+                if (foundPlayer) {
+                    playerRow = spawn[0];
+                    playerCol = spawn[1];
                 }
                 // If no 'p' marker, center player
                 if (!foundPlayer) {
-                    playerRow = GRID_HEIGHT / 2;
-                    playerCol = GRID_WIDTH / 2;
+                    playerRow = currentRoom.objectsGrid.getRows() / 2;
+                    playerCol = currentRoom.objectsGrid.getCols() / 2;
+                }
+            }
+        }
+
+        if (!currentRoomName.equals(shownRoomName)) {
+            shownRoomName = currentRoomName;
+            roomLabel.setText("📍 " + currentRoomName);
+        }
+        if (maze.getPlayerScore() != shownScore) {
+            shownScore = maze.getPlayerScore();
+            scoreLabel.setText("⭐ Score: " + shownScore);
+        }
+        String inventory = maze.getPlayerInventory();  // Cached by Player until it changes
+        if (!inventory.equals(shownInventory)) {
+            shownInventory = inventory;
+            inventoryLabel.setText("🎒 Inventory: " + (inventory.equals("Inventory: Empty") ? "Empty" : inventory));
+        }
+
+        repaintChangedTiles();
+    }
+
+    /**
+     * Repaints only the map tiles that changed since the last update: the player's old
+     * and new cells and any edited object cells. A new room, reloaded maps or a camera
+     * scroll repaint the whole map.
+     */
+    private void repaintChangedTiles() {
+        Room room = maze.getCurrentRoom();
+        boolean scrolled = followPlayer();
+        if (scrolled || room != paintedRoom || room.layoutGrid != paintedLayout) {
+            mapPanel.repaint();
+        } else {
+            if (playerRow != paintedRow || playerCol != paintedCol) {
+                repaintTile(paintedRow, paintedCol);
+                repaintTile(playerRow, playerCol);
+            }
+            if (room.getObjectEditCount() != paintedObjectEdits && room.objectsGrid != null) {
+                int cols = room.objectsGrid.getCols();
+                int edited = room.getObjectCellsEditedSince(paintedObjectEdits, editedCells);
+                if (edited < 0) {
+                    mapPanel.repaint();
+                }
+                for (int i = 0; i < edited; i++) {
+                    repaintTile(editedCells[i] / cols, editedCells[i] % cols);
                 }
             }
         }
+        paintedRoom = room;
+        paintedLayout = room.layoutGrid;
+        paintedRow = playerRow;
+        paintedCol = playerCol;
+        paintedObjectEdits = room.getObjectEditCount();
+    }
 
-        roomLabel.setText("📍 " + currentRoomName);
-        scoreLabel.setText("⭐ Score: " + maze.getPlayerScore());
-        inventoryLabel.setText("🎒 Inventory: " + (maze.getPlayerInventory().equals("Inventory: Empty") ? "Empty" : maze.getPlayerInventory()));
+    /**
+     * Repaints one tile, including the grid line on its right and bottom edges.
+     */
+    private void repaintTile(int row, int col) {
+        mapPanel.repaint(camera.tileX(col), camera.tileY(row), camera.getTileSize() + 1, camera.getTileSize() + 1);
+    }
 
-        mapPanel.repaint();
+    /**
+     * Moves the camera to follow the player in the current room and fit the map panel.
+     * @return true if the view scrolled or changed size
+     */
+    private boolean followPlayer() {
+        char[][] cells = getCurrentRoomCells();
+        int cols = cells.length > 0 ? cells[0].length : 0;  // A room with no rows has no columns
+        return camera.follow(playerRow, playerCol, cells.length, cols,
+                mapPanel.getWidth(), mapPanel.getHeight());
     }
 
     private void appendNarrative(String text) {
-        appendNarrativeWithColor(text, new Color(144, 238, 144));  // Default green
+        appendNarrativeWithColor(text, NarrativeLog.NARRATIVE);  // Default green
     }
 
-    private void appendNarrativeWithColor(String text, Color color) {
-        try {
-            javax.swing.text.SimpleAttributeSet attrs = new javax.swing.text.SimpleAttributeSet();
-            javax.swing.text.StyleConstants.setForeground(attrs, color);
-            narrativeArea.getDocument().insertString(narrativeArea.getDocument().getLength(), "\n" + text, attrs);
-            narrativeArea.setCaretPosition(narrativeArea.getDocument().getLength());
-        } catch (Exception e) {
-            System.err.println("Error appending narrative: " + e.getMessage());
-        }
+    /**
+     * Appends a message on a new line in one of the log's shared styles.
+     */
+    private void appendNarrativeWithColor(String text, byte style) {
+        narrativeArea.append(text, style);
     }
 
     private void appendSensoryNarrative(String text) {
-        appendNarrativeWithColor(text, new Color(135, 206, 235));  // Cyan for sensory
+        appendNarrativeWithColor(text, NarrativeLog.SENSORY);  // Cyan for sensory
     }
 
     private void appendItemNarrative(String text) {
-        appendNarrativeWithColor(text, new Color(255, 215, 0));  // Gold for items
+        appendNarrativeWithColor(text, NarrativeLog.ITEM);  // Gold for items
     }
 
     private void appendBossNarrative(String text) {
-        appendNarrativeWithColor(text, new Color(255, 99, 71));  // Red for danger
+        appendNarrativeWithColor(text, NarrativeLog.DANGER);  // Red for danger
     }
 
     private void showGameOver() {
-        appendNarrativeWithColor("════════════════════════════════════════", new Color(255, 215, 0));
-        appendNarrativeWithColor("🎮 GAME OVER", new Color(255, 215, 0));
-        appendNarrativeWithColor("📊 Final Score: " + maze.getPlayerScore(), new Color(255, 215, 0));
-        appendNarrativeWithColor("════════════════════════════════════════", new Color(255, 215, 0));
+        appendNarrativeWithColor("════════════════════════════════════════", NarrativeLog.ITEM);
+        appendNarrativeWithColor("🎮 GAME OVER", NarrativeLog.ITEM);
+        appendNarrativeWithColor("📊 Final Score: " + maze.getPlayerScore(), NarrativeLog.ITEM);
+        appendNarrativeWithColor("════════════════════════════════════════", NarrativeLog.ITEM);
     }
 
     private String getDirectionName(char direction) {
@@ -0,0 +1,508 @@
+package edu.wctc;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local HTTP/JSON API for web and mobile clients, built on the JDK's HTTP server.
+ *
+ * POST   /sessions                 create a session; returns {"state","narratives"}
+ * GET    /sessions/{id}            current {"state","narratives"}
+ * POST   /sessions/{id}/commands   run a batch of commands from the body, e.g. "leii"
+ *                                  (letters as at the console, separators ignored);
+ *                                  returns {"results","state","narratives"}
+ * DELETE /sessions/{id}            end a session
+ * GET    /narratives/{id}          the text of a narrative block, for a lost client cache
+ *
+ * State is {"session","room","description","entrance","exits","score","inventory",
+ * "finished","player","grid"}. Narrative text (command results, room descriptions) is
+ * sent by ID: "narratives" maps each ID to its text the first time a session is sent it,
+ * and later responses carry the ID alone, for the client to look up in its cache. Only
+ * the static blocks the chambers and Maze register with NarrativeRegistry, which
+ * GET /narratives can return, are ever sent by ID alone; dynamic text such as a score
+ * line is sent with its text every time. Each session remembers its MAX_DELIVERED most
+ * recently sent blocks.
+ * The grid is run-length encoded to keep responses small: rows are separated by '/',
+ * and each run is an optional count followed by the cell, e.g. "12w/w10fw". A digit,
+ * '/' or '\' cell is escaped with '\'. Add ?grid=0 to leave the grid out.
+ *
+ * Session IDs are 128 random bits from a SecureRandom, and are the only credential a
+ * client needs. The server listens on the loopback address unless -Dmaze.httpHost names
+ * another address to bind, e.g. 0.0.0.0 for every interface. Command bodies over
+ * MAX_BODY_BYTES are refused.
+ *
+ * Usage: java edu.wctc.GameHttpServer [port]   (default 8080)
+ * Properties: -Dmaze.maxSessions (default 10000), -Dmaze.idleTimeoutSeconds (default 300),
+ * -Dmaze.httpHost (default loopback)
+ */
+public class GameHttpServer {
+    public static final int MAX_BODY_BYTES = 64 * 1024;
+    public static final int MAX_DELIVERED = 1024;
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final int SESSION_ID_BYTES = 16;
+
+    private final HttpServer server;
+    private final long idleTimeoutMillis;
+    private final Semaphore sessionPermits;  // One per session that may still be opened
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "maze-http-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        String host = System.getProperty("maze.httpHost");
+        InetAddress address = host == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(host);
+        GameHttpServer server = new GameHttpServer(address, port, Integer.getInteger("maze.maxSessions", 10_000),
+                Integer.getInteger("maze.idleTimeoutSeconds", 300) * 1000L);
+        server.start();
+        System.out.println("✓ Maze HTTP API listening on " + address.getHostAddress() + " port " + server.getPort());
+    }
+
+    /**
+     * One player's game and when it was last used.
+     */
+    private static class Session {
+        final Maze maze;
+        // IDs sent to the client, least recently sent first; guarded by the session
+        final LinkedHashMap<String, Boolean> deliveredNarratives = new LinkedHashMap<>(64, 0.75f, true);
+        volatile long lastUsed = System.currentTimeMillis();
+
+        Session(Maze maze) {
+            this.maze = maze;
+        }
+    }
+
+    /**
+     * Constructs a GameHttpServer bound to a port on the loopback address.
+     * @param port the port, or 0 for any free port
+     * @param maxSessions the most sessions open at once
+     * @param idleTimeoutMillis how long a session may go unused before it is ended
+     * @throws IOException if the port cannot be bound
+     */
+    public GameHttpServer(int port, int maxSessions, long idleTimeoutMillis) throws IOException {
+        this(InetAddress.getLoopbackAddress(), port, maxSessions, idleTimeoutMillis);
+    }
+
+    /**
+     * Constructs a GameHttpServer bound to a port on an address.
+     * @param address the address to listen on
+     * @param port the port, or 0 for any free port
+     * @param maxSessions the most sessions open at once
+     * @param idleTimeoutMillis how long a session may go unused before it is ended
+     * @throws IOException if the port cannot be bound
+     */
+    public GameHttpServer(InetAddress address, int port, int maxSessions, long idleTimeoutMillis)
+            throws IOException {
+        this.sessionPermits = new Semaphore(maxSessions);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.server = HttpServer.create(new InetSocketAddress(address, port), 1024);
+        server.createContext("/sessions", this::handle);
+        server.createContext("/narratives", this::handleNarrative);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Starts serving requests and reaping idle sessions.
+     */
+    public void start() {
+        server.start();
+        long period = Math.max(1000, idleTimeoutMillis / 4);
+        reaper.scheduleWithFixedDelay(this::reapIdleSessions, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops serving requests and ends every session.
+     */
+    public void stop() {
+        server.stop(0);
+        reaper.shutdown();
+        for (String id : sessions.keySet()) {
+            endSession(id);
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of open sessions.
+     * @return the session count
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void reapIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            if (entry.getValue().lastUsed < cutoff && sessions.remove(entry.getKey(), entry.getValue())) {
+                sessionPermits.release();
+            }
+        }
+    }
+
+    /**
+     * Ends a session, returning its permit if this call removed it.
+     */
+    private boolean endSession(String id) {
+        if (sessions.remove(id) == null) {
+            return false;
+        }
+        sessionPermits.release();
+        return true;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!isUnder(exchange, "/sessions")) {
+                sendError(exchange, 404, "Not found");
+                return;
+            }
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            String method = exchange.getRequestMethod();
+            boolean withGrid = !"grid=0".equals(exchange.getRequestURI().getQuery());
+
+            // path is {"", "sessions"}, {"", "sessions", id} or {"", "sessions", id, "commands"}
+            if (path.length == 2 && method.equals("POST")) {
+                createSession(exchange, withGrid);
+                return;
+            }
+            if (path.length < 3 || path.length > 4 || (path.length == 4 && !path[3].equals("commands"))) {
+                sendError(exchange, 404, "Not found");
+                return;
+            }
+            Session session = sessions.get(path[2]);
+            if (session == null) {
+                sendError(exchange, 404, "No such session");
+                return;
+            }
+            session.lastUsed = System.currentTimeMillis();
+
+            if (path.length == 4 && method.equals("POST")) {
+                runCommands(exchange, path[2], session, withGrid);
+            } else if (path.length == 3 && method.equals("GET")) {
+                send(exchange, 200, stateResponse(path[2], session, "", withGrid));
+            } else if (path.length == 3 && method.equals("DELETE")) {
+                endSession(path[2]);
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                sendError(exchange, 405, "Method not allowed");
+            }
+        } catch (RuntimeException e) {
+            // Details stay in the server log, not the response
+            System.err.println("⚠ " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath()
+                    + " failed: " + e);
+            e.printStackTrace();
+            sendError(exchange, 500, "Internal server error");
+        }
+    }
+
+    /**
+     * Checks that a request's path is a context path itself or below it, since a context
+     * such as /sessions also receives paths like /sessionsX.
+     */
+    private static boolean isUnder(HttpExchange exchange, String context) {
+        String path = exchange.getRequestURI().getPath();
+        return path.equals(context) || path.startsWith(context + "/");
+    }
+
+    private void createSession(HttpExchange exchange, boolean withGrid) throws IOException {
+        // Reserve the session's place first, so concurrent creates cannot pass the cap
+        if (!sessionPermits.tryAcquire()) {
+            sendError(exchange, 503, "Too many sessions");
+            return;
+        }
+        Session session;
+        String id;
+        try {
+            session = new Session(new Maze());
+            do {
+                id = newSessionId();
+            } while (sessions.putIfAbsent(id, session) != null);
+        } catch (IOException | RuntimeException e) {
+            sessionPermits.release();
+            throw e;
+        }
+
+        send(exchange, 201, stateResponse(id, session, session.maze.getStartingEntranceNarrative(), withGrid));
+    }
+
+    /**
+     * Generates SESSION_ID_BYTES random bytes as hex.
+     */
+    private String newSessionId() {
+        byte[] bytes = new byte[SESSION_ID_BYTES];
+        random.nextBytes(bytes);
+        StringBuilder id = new StringBuilder(2 * SESSION_ID_BYTES);
+        for (byte b : bytes) {
+            id.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return id.toString();
+    }
+
+    /**
+     * Builds {"state":{...},"narratives":{...}}.
+     */
+    private static StringBuilder stateResponse(String id, Session session, String entrance, boolean withGrid) {
+        StringBuilder json = new StringBuilder(512);
+        Map<String, String> fresh = new LinkedHashMap<>();
+        synchronized (session) {
+            json.append("{\"state\":");
+            appendState(json, id, session, entrance, withGrid, fresh);
+            appendNarratives(json, fresh);
+            json.append('}');
+        }
+        return json;
+    }
+
+    private void handleNarrative(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            Narrative narrative = isUnder(exchange, "/narratives") && path.length == 3
+                    ? NarrativeRegistry.get(path[2]) : null;
+            if (narrative == null) {
+                sendError(exchange, 404, "No such narrative");
+                return;
+            }
+            StringBuilder json = new StringBuilder("{\"id\":\"").append(narrative.id).append("\",\"text\":");
+            appendString(json, narrative.text);
+            send(exchange, 200, json.append('}'));
+        }
+    }
+
+    /**
+     * Gets a text's narrative ID, noting its text for the response unless the session has
+     * had it and the registry can return it again.
+     */
+    private static String narrativeId(Session session, String text, Map<String, String> fresh) {
+        Narrative narrative = NarrativeRegistry.of(text);
+        if (NarrativeRegistry.get(narrative.id) != narrative) {
+            // Not registered, so the client could not fetch it again by ID
+            fresh.put(narrative.id, text);
+            return narrative.id;
+        }
+        Map<String, Boolean> delivered = session.deliveredNarratives;
+        if (delivered.put(narrative.id, Boolean.TRUE) == null) {
+            fresh.put(narrative.id, text);
+            if (delivered.size() > MAX_DELIVERED) {
+                Iterator<String> eldest = delivered.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return narrative.id;
+    }
+
+    private static void appendNarratives(StringBuilder json, Map<String, String> fresh) {
+        json.append(",\"narratives\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> entry : fresh.entrySet()) {
+            json.append(first ? "\"" : ",\"").append(entry.getKey()).append("\":");
+            appendString(json, entry.getValue());
+            first = false;
+        }
+        json.append('}');
+    }
+
+    /**
+     * Compiles the request body into opcodes and runs them as one batch.
+     * Responds with {"results":[{"command","status","text"}...],"state":{...}}.
+     */
+    private void runCommands(HttpExchange exchange, String id, Session session, boolean withGrid)
+            throws IOException {
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) {
+            sendError(exchange, 413, "Command body exceeds " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+        String body = new String(bytes, StandardCharsets.UTF_8);
+        byte[] opcodes = Commands.compile(body);
+        CommandResults results = new CommandResults(opcodes.length, true);
+
+        StringBuilder json = new StringBuilder(1024);
+        Map<String, String> fresh = new LinkedHashMap<>();
+        synchronized (session) {
+            session.maze.executeBatch(opcodes, results);
+            json.append("{\"results\":[");
+            for (int i = 0; i < results.size(); i++) {
+                json.append(i == 0 ? "{" : ",{");
+                json.append("\"command\":\"").append(Commands.letter(results.getOpcode(i)));
+                json.append("\",\"status\":\"").append(statusName(results.getStatus(i))).append('"');
+                if (results.getMessage(i) != null) {
+                    json.append(",\"narrative\":\"").append(narrativeId(session, results.getMessage(i), fresh)).append('"');
+                }
+                json.append('}');
+            }
+            json.append("],\"state\":");
+            appendState(json, id, session, session.maze.getLastEntranceNarrative(), withGrid, fresh);
+            appendNarratives(json, fresh);
+            json.append('}');
+        }
+        send(exchange, 200, json);
+    }
+
+    private static String statusName(byte status) {
+        switch (status) {
+            case CommandResults.OK:
+                return "ok";
+            case CommandResults.FAILED:
+                return "failed";
+            case CommandResults.SKIPPED:
+                return "skipped";
+            default:
+                return "unknown";
+        }
+    }
+
+    /**
+     * Appends the session's state. The room description and any entrance narrative
+     * (sent only on first entry to a room) are given by narrative ID.
+     */
+    private static void appendState(StringBuilder json, String id, Session session, String entrance,
+                                    boolean withGrid, Map<String, String> fresh) {
+        Maze maze = session.maze;
+        Room room = maze.getCurrentRoom();
+        json.append("{\"session\":\"").append(id).append("\",\"room\":");
+        appendString(json, room.getName());
+        json.append(",\"description\":\"").append(narrativeId(session, room.getShortRoomDescription(), fresh));
+        json.append("\",\"entrance\":");
+        if (entrance.isEmpty()) {
+            json.append("null");
+        } else {
+            json.append('"').append(narrativeId(session, entrance, fresh)).append('"');
+        }
+        json.append(",\"exits\":");
+        appendString(json, room.getExits());
+        json.append(",\"score\":").append(maze.getPlayerScore());
+        json.append(",\"inventory\":[");
+        boolean first = true;
+        for (String item : maze.getPlayerItems()) {
+            json.append(first ? "" : ",");
+            appendString(json, item);
+            first = false;
+        }
+        json.append("],\"finished\":").append(maze.isFinished());
+        json.append(",\"player\":[").append(room.playerRow).append(',').append(room.playerCol).append(']');
+        if (withGrid) {
+            json.append(",\"grid\":");
+            appendGrid(json, room);
+        }
+        json.append('}');
+    }
+
+    /**
+     * Appends the room's display grid as {"rows","cols","rle"}, or null if its maps are not loaded.
+     */
+    private static void appendGrid(StringBuilder json, Room room) {
+        RoomGrid layout = room.layoutGrid;
+        if (layout == null) {
+            json.append("null");
+            return;
+        }
+        json.append("{\"rows\":").append(layout.getRows()).append(",\"cols\":").append(layout.getCols());
+        json.append(",\"rle\":\"");
+        for (int r = 0; r < layout.getRows(); r++) {
+            if (r > 0) {
+                json.append('/');
+            }
+            int c = 0;
+            while (c < layout.getCols()) {
+                char cell = room.getDisplayCell(r, c);
+                int run = 1;
+                while (c + run < layout.getCols() && room.getDisplayCell(r, c + run) == cell) {
+                    run++;
+                }
+                if (run > 1) {
+                    json.append(run);
+                }
+                if (Character.isDigit(cell) || cell == '/' || cell == '\\') {
+                    json.append("\\\\");  // JSON-escaped '\'
+                }
+                appendChar(json, cell);
+                c += run;
+            }
+        }
+        json.append("\"}");
+    }
+
+    /**
+     * Appends a JSON string literal.
+     */
+    private static void appendString(StringBuilder json, String s) {
+        json.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            appendChar(json, s.charAt(i));
+        }
+        json.append('"');
+    }
+
+    private static void appendChar(StringBuilder json, char c) {
+        switch (c) {
+            case '"':
+                json.append("\\\"");
+                break;
+            case '\\':
+                json.append("\\\\");
+                break;
+            case '\n':
+                json.append("\\n");
+                break;
+            case '\r':
+                json.append("\\r");
+                break;
+            case '\t':
+                json.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, message);
+        send(exchange, status, json.append('}'));
+    }
+
+    private static void send(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
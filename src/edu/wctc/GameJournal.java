@@ -0,0 +1,273 @@
+package edu.wctc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of a session's state-changing calls, for crash recovery.
+ * Maze records each successful move, interact, loot and exit as its opcode. The game is
+ * deterministic given its GameRandom, so replaying the opcodes rebuilds the session.
+ *
+ * Records are committed in groups: they collect in memory and are written and forced to
+ * disk together once GROUP_SIZE are waiting, every COMMIT_INTERVAL_MILLIS, or on close.
+ * One daemon thread runs the timed commits for every open journal in the process.
+ * Every SNAPSHOT_INTERVAL records the whole game state is written to a snapshot file
+ * (atomically, through a temporary file) and the journal is truncated, which bounds
+ * replay time. {@link #recover(Path, boolean)} loads the snapshot and replays the tail.
+ *
+ * Positions the player walks to inside a room are saved by snapshots only.
+ */
+public class GameJournal implements Closeable {
+    public static final String JOURNAL_FILE = "journal.log";
+    public static final String SNAPSHOT_FILE = "snapshot.bin";
+    public static final int GROUP_SIZE = 64;
+    public static final long COMMIT_INTERVAL_MILLIS = 50;
+    public static final int SNAPSHOT_INTERVAL = 1024;
+
+    private static final int JOURNAL_MAGIC = 0x4D415A4A;   // "MAZJ"
+    private static final int SNAPSHOT_MAGIC = 0x4D415A53;  // "MAZS"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2;
+    private static final int RECORD_SIZE = 8 + 1 + 4;  // sequence, opcode, CRC32 of both
+
+    // Shared by every journal, so sessions do not each hold a thread
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "game-journal-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path dir;
+    private final FileChannel channel;
+    private final ByteBuffer pending = ByteBuffer.allocate(GROUP_SIZE * RECORD_SIZE);
+    private final ScheduledFuture<?> flushTask;
+    private long sequence;
+    private int sinceSnapshot = 0;
+
+    private GameJournal(Path dir, FileChannel channel, long sequence) {
+        this.dir = dir;
+        this.channel = channel;
+        this.sequence = sequence;
+        this.flushTask = FLUSHER.scheduleWithFixedDelay(this::commitQuietly,
+                COMMIT_INTERVAL_MILLIS, COMMIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a new journal for a session, replacing any journal and snapshot in the directory.
+     * The session's current state is snapshotted first, so it need not be a new game.
+     * @param dir the directory for the journal and snapshot files
+     * @param maze the session to record
+     * @return the journal, already attached to the maze
+     * @throws IOException if the files cannot be written
+     */
+    public static GameJournal start(Path dir, Maze maze) throws IOException {
+        Files.createDirectories(dir);
+        FileChannel channel = FileChannel.open(dir.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        writeHeader(channel);
+        GameJournal journal = new GameJournal(dir, channel, 0);
+        journal.snapshot(maze);
+        maze.setJournal(journal);
+        return journal;
+    }
+
+    /**
+     * Rebuilds a session from the latest snapshot and the journal records after it,
+     * then reopens the journal so the session keeps recording. A torn or corrupt
+     * record at the end of the journal (from a crash mid-write) is discarded.
+     * @param dir the directory holding the journal and snapshot files
+     * @param loadMaps true to load room maps, as for a playable session
+     * @return the recovered session, with its journal attached
+     * @throws IOException if the files are missing or unreadable
+     */
+    public static Maze recover(Path dir, boolean loadMaps) throws IOException {
+        Maze maze = new Maze(loadMaps);
+        long snapshotSequence;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(dir.resolve(SNAPSHOT_FILE)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " game snapshot: " + dir.resolve(SNAPSHOT_FILE));
+            }
+            snapshotSequence = in.readLong();
+            maze.readState(in);
+        }
+
+        FileChannel channel = FileChannel.open(dir.resolve(JOURNAL_FILE), StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != JOURNAL_MAGIC || header.getShort() != VERSION) {
+            channel.close();
+            throw new IOException("Not a version " + VERSION + " game journal: " + dir.resolve(JOURNAL_FILE));
+        }
+
+        // Replay intact records newer than the snapshot, stopping at the first bad one
+        ByteBuffer records = ByteBuffer.allocate((int) Math.max(0, channel.size() - HEADER_SIZE));
+        readFully(channel, records, HEADER_SIZE);
+        records.flip();
+        long sequence = snapshotSequence;
+        long end = HEADER_SIZE;
+        while (records.remaining() >= RECORD_SIZE) {
+            long recordSequence = records.getLong();
+            byte opcode = records.get();
+            if (records.getInt() != crc(recordSequence, opcode)) {
+                break;
+            }
+            if (recordSequence > snapshotSequence) {
+                maze.execute(opcode);
+                sequence = recordSequence;
+            }
+            end += RECORD_SIZE;
+        }
+        channel.truncate(end);
+        channel.position(end);
+        channel.force(true);
+
+        GameJournal journal = new GameJournal(dir, channel, sequence);
+        journal.sinceSnapshot = (int) (sequence - snapshotSequence);
+        maze.setJournal(journal);
+        return maze;
+    }
+
+    /**
+     * Records a state-changing call. Called by Maze after the call has taken effect.
+     * @param opcode the call's Commands opcode
+     * @param maze the session, snapshotted when SNAPSHOT_INTERVAL records have built up
+     * @throws IOException if a commit or snapshot fails
+     */
+    public synchronized void record(byte opcode, Maze maze) throws IOException {
+        long recordSequence = ++sequence;
+        pending.putLong(recordSequence).put(opcode).putInt(crc(recordSequence, opcode));
+        if (!pending.hasRemaining()) {
+            commit();
+        }
+        if (++sinceSnapshot >= SNAPSHOT_INTERVAL) {
+            snapshot(maze);
+        }
+    }
+
+    /**
+     * Writes waiting records and forces them to disk.
+     * @throws IOException if writing fails
+     */
+    public synchronized void commit() throws IOException {
+        if (pending.position() == 0) {
+            return;
+        }
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        pending.clear();
+        channel.force(false);
+    }
+
+    /**
+     * Writes a snapshot of the session and empties the journal, whose records it includes.
+     * @param maze the session
+     * @throws IOException if writing fails
+     */
+    public synchronized void snapshot(Maze maze) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(sequence);
+        maze.writeState(out);
+        out.flush();
+
+        Path temp = dir.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                file.write(buffer);
+            }
+            file.force(true);
+        }
+        Files.move(temp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        // Records up to the snapshot's sequence are skipped on recovery, so a crash
+        // before this truncation is still safe
+        pending.clear();
+        channel.truncate(HEADER_SIZE);
+        channel.position(HEADER_SIZE);
+        channel.force(true);
+        sinceSnapshot = 0;
+    }
+
+    /**
+     * Gets the sequence number of the last record.
+     * @return the sequence number
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Commits waiting records and closes the journal.
+     * @throws IOException if the final commit fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flushTask.cancel(false);
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            commit();
+        } catch (IOException e) {
+            System.err.println("⚠ Could not commit game journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads from a position until the buffer is full or the end of the file.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return;
+            }
+            position += read;
+        }
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(JOURNAL_MAGIC).putShort(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+    }
+
+    private static int crc(long sequence, byte opcode) {
+        CRC32 crc = new CRC32();
+        ByteBuffer bytes = ByteBuffer.allocate(9);
+        bytes.putLong(sequence).put(opcode).flip();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,95 @@
+package edu.wctc;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-session random number source for game rolls, built on SplittableRandom.
+ * Every draw consumes exactly one value of the underlying stream, so the seed and
+ * the number of draws so far identify any roll, and {@link #at(long, long)} replays it.
+ * Child generators split off for parallel workers have their own recorded seeds.
+ *
+ * Not thread-safe: give each thread its own generator with {@link #split()}.
+ */
+public class GameRandom {
+    private final long seed;
+    private final SplittableRandom random;
+    private long draws = 0;
+
+    /**
+     * Constructs a GameRandom with a fresh random seed.
+     */
+    public GameRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a GameRandom with a given seed.
+     * @param seed the seed
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Creates a generator positioned after a number of draws from a seed, to replay a roll.
+     * @param seed the seed of the generator that made the roll
+     * @param draws the draw count recorded just before the roll
+     * @return a generator whose next draw repeats the roll
+     */
+    public static GameRandom at(long seed, long draws) {
+        GameRandom replay = new GameRandom(seed);
+        for (long i = 0; i < draws; i++) {
+            replay.nextLong();
+        }
+        return replay;
+    }
+
+    /**
+     * Draws a random long.
+     * @return the value
+     */
+    public long nextLong() {
+        draws++;
+        return random.nextLong();
+    }
+
+    /**
+     * Draws a random int from 0 (inclusive) to bound (exclusive).
+     * Uses one draw, by scaling the high bits, rather than rejection sampling.
+     * @param bound the upper bound, at least 1
+     * @return the value
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+
+    /**
+     * Splits off an independent child generator, seeded by one draw from this one.
+     * Splitting in a fixed order gives the same children every run.
+     * @return the child generator
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    /**
+     * Gets the seed this generator started from.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of draws made so far.
+     * @return the draw count
+     */
+    public long getDraws() {
+        return draws;
+    }
+}
@@ -0,0 +1,167 @@
+package edu.wctc;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP server hosting one text game per connection, playable with telnet or netcat:
+ * the same commands and text as the console version, one command per line, UTF-8.
+ * Each connection gets its own Maze and virtual thread; sessions share parsed room maps
+ * through RoomTemplateCache. Connections beyond the cap are turned away, and
+ * sessions idle past the timeout are closed.
+ *
+ * Usage: java edu.wctc.GameServer [port]   (default 4000)
+ * Properties: -Dmaze.maxConnections (default 10000), -Dmaze.idleTimeoutSeconds (default 300)
+ */
+public class GameServer {
+    // Pause after a failed accept, doubled per failure in a row, so errors such as
+    // running out of file descriptors do not spin the acceptor
+    private static final long ACCEPT_BACKOFF_MILLIS = 10;
+    private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1000;
+
+    private final int port;
+    private final int maxConnections;
+    private final int idleTimeoutMillis;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private ServerSocket serverSocket;
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+        GameServer server = new GameServer(port, Integer.getInteger("maze.maxConnections", 10_000),
+                Integer.getInteger("maze.idleTimeoutSeconds", 300) * 1000);
+        server.start();
+        System.out.println("✓ Maze server listening on port " + server.getPort());
+    }
+
+    /**
+     * Constructs a GameServer.
+     * @param port the port to listen on, or 0 for any free port
+     * @param maxConnections the most sessions open at once
+     * @param idleTimeoutMillis how long a session may wait for a command before it is closed
+     */
+    public GameServer(int port, int maxConnections, int idleTimeoutMillis) {
+        this.port = port;
+        this.maxConnections = maxConnections;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Opens the server socket and starts accepting connections on a background thread.
+     * @throws IOException if the port cannot be bound
+     */
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(port, 1024);
+        Thread acceptor = new Thread(this::acceptLoop, "maze-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Stops accepting connections. Open sessions end when their connections close or idle out.
+     * @throws IOException if closing the server socket fails
+     */
+    public void stop() throws IOException {
+        serverSocket.close();
+        sessions.shutdown();
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of open sessions.
+     * @return the session count
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    private void acceptLoop() {
+        long backoff = ACCEPT_BACKOFF_MILLIS;
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+                backoff = ACCEPT_BACKOFF_MILLIS;
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    break;  // Stopped
+                }
+                System.err.println("⚠ Accept failed: " + e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_ACCEPT_BACKOFF_MILLIS);
+                continue;
+            }
+
+            if (activeSessions.incrementAndGet() > maxConnections) {
+                activeSessions.decrementAndGet();
+                reject(socket);
+                continue;
+            }
+            sessions.execute(() -> {
+                try {
+                    serve(socket);
+                } finally {
+                    activeSessions.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Plays one session over a connection until it ends, idles out or disconnects.
+     */
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setSoTimeout(idleTimeoutMillis);
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+            try {
+                new TextSession(new Maze(), in, out).run();
+            } catch (SocketTimeoutException e) {
+                out.println("\n✗ Session closed after " + idleTimeoutMillis / 1000 + " seconds without a command.");
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // Client disconnected
+        } catch (IOException e) {
+            System.err.println("⚠ Session failed: " + e.getMessage());
+        }
+    }
+
+    private static void reject(Socket socket) {
+        try (socket) {
+            PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            out.println("✗ The maze is full. Please try again later.");
+            out.flush();
+        } catch (IOException e) {
+            // Client already gone
+        }
+    }
+}
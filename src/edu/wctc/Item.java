@@ -0,0 +1,24 @@
+package edu.wctc;
+
+/**
+ * A kind of item the player can carry, as defined in items.csv.
+ * Items are identified by their registry ID so inventories can store them as bits
+ * and counts instead of names (see ItemRegistry and Player).
+ */
+public class Item {
+    public final int id;
+    public final String name;
+    public final boolean stackable;  // true if the player can carry more than one
+
+    /**
+     * Constructs an Item.
+     * @param id the item's registry ID
+     * @param name the item's display name
+     * @param stackable true if the player can carry more than one
+     */
+    Item(int id, String name, boolean stackable) {
+        this.id = id;
+        this.name = name;
+        this.stackable = stackable;
+    }
+}
@@ -0,0 +1,115 @@
+package edu.wctc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry giving each item a small int ID, loaded from items.csv
+ * ("name,stackable" per line after a header). IDs are assigned in file order and are
+ * only stable within a process, so saves store item names rather than IDs.
+ *
+ * Only the items in the file, and the game's own Iron Longsword, are known. Names from
+ * anywhere else, such as save files or journals, are looked up and never registered, so
+ * they cannot grow the registry or every Player's inventory arrays.
+ */
+public class ItemRegistry {
+    public static final String ITEMS_PATH = "edu/wctc/items.csv";
+
+    private static final Map<String, Item> BY_NAME = new ConcurrentHashMap<>();
+    private static volatile Item[] byId = new Item[0];
+
+    static {
+        load(ITEMS_PATH);
+    }
+
+    // Registered here too, so the game still runs if the file cannot be found
+    public static final int IRON_LONGSWORD = register("Iron Longsword", false).id;
+
+    private ItemRegistry() {
+    }
+
+    /**
+     * Gets a registered item's ID.
+     * @param name the item's name
+     * @return the item's ID
+     * @throws IllegalArgumentException if no item has the name
+     */
+    public static int id(String name) {
+        Item item = BY_NAME.get(name);
+        if (item == null) {
+            throw new IllegalArgumentException("Unknown item: " + name);
+        }
+        return item.id;
+    }
+
+    /**
+     * Gets an item by ID.
+     * @param id the item's ID
+     * @return the item
+     * @throws IndexOutOfBoundsException if no item has the ID
+     */
+    public static Item get(int id) {
+        return byId[id];
+    }
+
+    /**
+     * Gets an item by name.
+     * @param name the item's name
+     * @return the item, or null if it is not registered
+     */
+    public static Item get(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * Gets the number of registered items, which is one more than the highest ID.
+     * @return the registry size
+     */
+    public static int size() {
+        return byId.length;
+    }
+
+    /**
+     * Registers an item, or returns the existing one with the same name.
+     * @param name the item's name
+     * @param stackable true if the player can carry more than one
+     * @return the registered item
+     */
+    public static synchronized Item register(String name, boolean stackable) {
+        Item existing = BY_NAME.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        Item item = new Item(byId.length, name, stackable);
+        Item[] grown = Arrays.copyOf(byId, byId.length + 1);
+        grown[item.id] = item;
+        byId = grown;
+        BY_NAME.put(name, item);
+        return item;
+    }
+
+    private static void load(String path) {
+        File file = MapLoader.findFile(path);
+        if (file == null) {
+            System.err.println("⚠ Item definitions not found: " + path);
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            for (int i = 1; i < lines.size(); i++) {
+                String[] fields = lines.get(i).split(",");
+                if (!fields[0].isBlank()) {
+                    register(fields[0].trim(), fields.length > 1 && Boolean.parseBoolean(fields[1].trim()));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠ Could not load item definitions: " + e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package edu.wctc;
 /**
  * Interface for rooms that can be looted by the player.
  * Implementing classes should provide loot mechanics and return descriptive feedback.
+ * A room that refuses the action should return its message through Room.refuse,
+ * and one where nothing changes through Room.noChange, so Maze reports it correctly.
  */
 public interface Lootable {
     /**
@@ -1,93 +1,79 @@
 package edu.wctc;
 
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Main driver class for the Maze game.
  * Handles the game loop, user input, and display of game state.
+ * Run with -Dmaze.journalDir=DIR to journal the game there; after a crash or quit,
+ * the next run with the same directory resumes it. Run with -Dmaze.saveStore=FILE to
+ * keep one saved game per player (-Dmaze.player, default the user name) in a SaveStore:
+ * the player's game is restored at start and saved on the way out.
  */
 public class Main {
     public static void main(String[] args) {
         try {
-            Maze maze = new Maze();
-            Scanner scanner = new Scanner(System.in);
+            Maze maze = openGame(System.getProperty("maze.journalDir"));
 
-            System.out.println("\n╔════════════════════════════════════════╗");
-            System.out.println("║       WELCOME TO THE MAZE GAME        ║");
-            System.out.println("║    A Dark Fantasy Dungeon Crawler     ║");
-            System.out.println("╚════════════════════════════════════════╝\n");
-
-            System.out.println("Commands:");
-            System.out.println("  Movement: n(north), s(south), e(east), w(west), u(up), d(down)");
-            System.out.println("  Actions:  i(interact), l(loot), x(exit), v(inventory)");
-            System.out.println("  Quit:     q");
-            System.out.println("════════════════════════════════════════\n");
-
-            while (!maze.isFinished()) {
-                // Display current state
-                System.out.println("\n" + maze.getCurrentRoomDescription());
-                System.out.println("\nCurrent Room: " + maze.getCurrentRoomName());
-                System.out.println(maze.getCurrentRoomExits());
-                System.out.println("Score: " + maze.getPlayerScore());
-
-                // Get input
-                System.out.print("\nEnter command: ");
-                String input = scanner.nextLine().trim().toLowerCase();
-
-                if (input.isEmpty()) {
-                    System.out.println("✗ Please enter a valid command.");
-                    continue;
+            String storeFile = System.getProperty("maze.saveStore");
+            SaveStore store = storeFile != null ? SaveStore.open(Paths.get(storeFile)) : null;
+            String playerId = System.getProperty("maze.player", System.getProperty("user.name"));
+            if (store != null && store.load(playerId, maze)) {
+                System.out.println("Restored the saved game for " + playerId);
+                if (maze.getJournal() != null) {
+                    maze.getJournal().snapshot(maze);  // The journal did not see the restore
                 }
+            }
 
-                char command = input.charAt(0);
-                String result = "";
-
-                // Process command
-                switch (command) {
-                    case 'n':
-                    case 's':
-                    case 'e':
-                    case 'w':
-                    case 'u':
-                    case 'd':
-                        boolean moved = maze.move(command);
-                        if (moved) {
-                            result = "→ You move in that direction.";
-                        } else {
-                            result = "✗ You cannot go that way.";
-                        }
-                        break;
-                    case 'i':
-                        result = maze.interactWithCurrentRoom();
-                        break;
-                    case 'l':
-                        result = maze.lootCurrentRoom();
-                        break;
-                    case 'x':
-                        result = maze.exitCurrentRoom();
-                        break;
-                    case 'v':
-                        result = "\n" + maze.getPlayerInventory();
-                        break;
-                    case 'q':
-                        System.out.println("\n✗ You have abandoned the maze. Thanks for playing!");
-                        scanner.close();
-                        return;
-                    default:
-                        result = "✗ Unknown command. Try n, s, e, w, u, d, i, l, x, v, or q.";
+            try {
+                new TextSession(maze, new BufferedReader(new InputStreamReader(System.in)),
+                        new PrintWriter(System.out)).run();
+            } finally {
+                if (store != null) {
+                    // A finished game has nothing to come back to
+                    if (maze.isFinished()) {
+                        store.remove(playerId);
+                    } else {
+                        store.save(playerId, maze);
+                    }
+                    store.close();
+                }
+                if (maze.getJournal() != null) {
+                    maze.getJournal().close();
                 }
-
-                System.out.println(result);
             }
-
-            // Game finished
-            System.out.println("\n════════════════════════════════════════");
-            System.out.println("Final Score: " + maze.getPlayerScore());
-            System.out.println("════════════════════════════════════════\n");
-            scanner.close();
         } catch (java.io.IOException e) {
             System.err.println("Error loading game resources: " + e.getMessage());
             e.printStackTrace();
         }
     }
+
+    /**
+     * Starts a game, or resumes the unfinished one journaled in a directory.
+     * @param journalDir the journal directory, or null to play without one
+     * @return the game, with its journal attached if there is one
+     * @throws java.io.IOException if the maps or the journal cannot be read or written
+     */
+    static Maze openGame(String journalDir) throws java.io.IOException {
+        if (journalDir == null) {
+            return new Maze();
+        }
+        Path dir = Paths.get(journalDir);
+        if (Files.exists(dir.resolve(GameJournal.SNAPSHOT_FILE))) {
+            Maze maze = GameJournal.recover(dir, true);
+            if (!maze.isFinished()) {
+                System.out.println("Resuming the game journaled in " + dir);
+                return maze;
+            }
+            maze.getJournal().close();
+        }
+        Maze maze = new Maze();
+        GameJournal.start(dir, maze);
+        return maze;
+    }
 }
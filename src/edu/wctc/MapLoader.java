@@ -3,15 +3,28 @@ package edu.wctc;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Utility class for loading CSV map files.
- * Converts CSV grid data into 2D character arrays for room rendering and collision detection.
+ * Converts CSV grid data into RoomGrid layers for room rendering and collision detection.
+ * Also reads compiled room files produced by {@link RoomMapCompiler}.
  */
 public class MapLoader {
 
+    // Compiled room file header: magic "MAZR", format version
+    static final int ROOM_MAGIC = 0x4D415A52;
+    static final short ROOM_VERSION = 1;
+    static final int ROOM_HEADER_SIZE = 4 + 2 + 4 * 4;
+
+    // Files up to this size are read into a heap buffer; larger ones are memory-mapped
+    private static final int MAP_THRESHOLD = 1 << 20;
+
     /**
      * Loads a CSV map file and converts it to a 2D character array.
      * Empty cells (commas with no value) are represented as spaces.
@@ -21,21 +34,7 @@ public class MapLoader {
      * @throws IOException if the file cannot be read
      */
     public static char[][] loadMap(String filepath) throws IOException {
-        java.io.File file = new java.io.File(filepath);
-
-        // Try primary path first
-        if (!file.exists()) {
-            // Try with src/ prefix
-            java.io.File srcFile = new java.io.File("src/" + filepath);
-            if (srcFile.exists()) {
-                file = srcFile;
-                filepath = "src/" + filepath;
-            }
-        }
-
-        if (!file.exists()) {
-            throw new IOException("File not found: " + file.getAbsolutePath());
-        }
+        java.io.File file = resolveFile(filepath);
 
         List<char[]> rows = new ArrayList<>();
 
@@ -58,16 +57,250 @@ public class MapLoader {
     }
 
     /**
-     * Converts a 2D character array to a formatted string for display.
+     * Loads a CSV map file by reading its bytes straight from a FileChannel.
+     * Unlike {@link #loadMap(String)}, no String is created per line or cell:
+     * the grid is sized in a first pass and cells are written into preallocated
+     * rows in a second pass. A leading UTF-8 BOM is skipped.
+     * Every row is padded with spaces to the width of the widest row.
+     *
+     * @param filepath the path to the CSV file
+     * @return a flat grid representing the map
+     * @throws IOException if the file cannot be read
+     */
+    public static RoomGrid loadMapStreaming(String filepath) throws IOException {
+        return parseGrid(readFile(filepath));
+    }
+
+    /**
+     * Reads a map file through a FileChannel.
+     * Small files are read into a heap buffer; larger ones are memory-mapped.
+     *
+     * @param filepath the path to the file
+     * @return a buffer holding the whole file, positioned at its start
+     * @throws IOException if the file cannot be read
+     */
+    static ByteBuffer readFile(String filepath) throws IOException {
+        java.io.File file = resolveFile(filepath);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Map file too large: " + file.getAbsolutePath());
+            }
+
+            if (size > MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the buffer is full or EOF
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Parses CSV bytes between the buffer's position and limit into a grid.
+     * Each cell becomes its first non-whitespace character, or ' ' if empty.
+     *
+     * @param buffer the UTF-8 encoded CSV content
+     * @return a flat grid representing the map
+     */
+    public static RoomGrid parseGrid(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = buffer.limit();
+
+        // Skip UTF-8 byte order mark
+        if (end - start >= 3 && buffer.get(start) == (byte) 0xEF
+                && buffer.get(start + 1) == (byte) 0xBB && buffer.get(start + 2) == (byte) 0xBF) {
+            start += 3;
+        }
+
+        // First pass: count rows and the widest row
+        int rowCount = 0;
+        int colCount = 0;
+        int rowCols = 1;
+        boolean lineOpen = false;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n') {
+                rowCount++;
+                colCount = Math.max(colCount, rowCols);
+                rowCols = 1;
+                lineOpen = false;
+            } else {
+                lineOpen = true;
+                if (b == ',') {
+                    rowCols++;
+                }
+            }
+        }
+        if (lineOpen) {
+            rowCount++;
+            colCount = Math.max(colCount, rowCols);
+        }
+
+        byte[] cells = new byte[rowCount * colCount];
+        Arrays.fill(cells, (byte) ' ');
+
+        // Second pass: write the first visible character of each cell
+        int rowStart = 0;
+        int col = 0;
+        boolean cellSet = false;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n') {
+                rowStart += colCount;
+                col = 0;
+                cellSet = false;
+            } else if (b == ',') {
+                col++;
+                cellSet = false;
+            } else if (!cellSet && (b < 0 || b > ' ')) {
+                char c = b > 0 ? (char) b : decodeChar(buffer, i, end);
+                cells[rowStart + col] = (byte) (c > 0xFF ? '?' : c);
+                cellSet = true;
+            }
+        }
+
+        return new RoomGrid(rowCount, colCount, cells);
+    }
+
+    /**
+     * Decodes the UTF-8 character starting at the given index.
+     * Characters outside the Basic Multilingual Plane are shown as '?'.
+     */
+    private static char decodeChar(ByteBuffer buffer, int i, int end) {
+        int b = buffer.get(i) & 0xFF;
+        if (b < 0x80) {
+            return (char) b;
+        }
+        if ((b & 0xE0) == 0xC0 && i + 1 < end) {
+            return (char) (((b & 0x1F) << 6) | (buffer.get(i + 1) & 0x3F));
+        }
+        if ((b & 0xF0) == 0xE0 && i + 2 < end) {
+            return (char) (((b & 0x0F) << 12) | ((buffer.get(i + 1) & 0x3F) << 6)
+                    | (buffer.get(i + 2) & 0x3F));
+        }
+        return '?';
+    }
+
+    /**
+     * Loads all layers of a room from a compiled room file.
+     * Large files are memory-mapped and each layer is copied straight into its grid;
+     * the spawn position is read from the header instead of being searched for.
+     *
+     * @param filepath the path to the compiled .room file
+     * @return the room's layers and spawn position
+     * @throws IOException if the file cannot be read or is not a compiled room
+     */
+    public static RoomMaps loadCompiledRoom(String filepath) throws IOException {
+        return parseCompiledRoom(readFile(filepath), filepath);
+    }
+
+    /**
+     * Reads a compiled room from a buffer positioned at the start of its header.
+     *
+     * @param buffer the compiled room content
+     * @param name the file name to report in error messages
+     * @return the room's layers and spawn position
+     * @throws IOException if the buffer does not hold a valid compiled room
+     */
+    public static RoomMaps parseCompiledRoom(ByteBuffer buffer, String name) throws IOException {
+        if (buffer.remaining() < ROOM_HEADER_SIZE || buffer.getInt() != ROOM_MAGIC) {
+            throw new IOException("Not a compiled room file: " + name);
+        }
+        short version = buffer.getShort();
+        if (version != ROOM_VERSION) {
+            throw new IOException("Unsupported room file version " + version + ": " + name);
+        }
+
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        int spawnRow = buffer.getInt();
+        int spawnCol = buffer.getInt();
+        if (rows < 0 || cols < 0 || (long) rows * cols * 3 != buffer.remaining()) {
+            throw new IOException("Corrupt room file: " + name);
+        }
+
+        RoomGrid layout = readLayer(buffer, rows, cols);
+        RoomGrid objects = readLayer(buffer, rows, cols);
+        CollisionMask collision = CollisionMask.fromGrid(readLayer(buffer, rows, cols));
+        return new RoomMaps(layout, objects, collision, spawnRow, spawnCol);
+    }
+
+    /**
+     * Copies one rows x cols layer of single-byte cells out of a compiled room buffer.
+     */
+    private static RoomGrid readLayer(ByteBuffer buffer, int rows, int cols) {
+        byte[] cells = new byte[rows * cols];
+        buffer.get(cells);
+        return new RoomGrid(rows, cols, cells);
+    }
+
+    /**
+     * Checks whether a compiled room file exists and is at least as new as its CSV sources.
+     *
+     * @param compiledPath the path to the compiled .room file
+     * @param sourcePaths the CSV files it was compiled from
+     * @return true if the compiled file can be used in place of the CSVs
+     */
+    public static boolean isCompiledRoomCurrent(String compiledPath, String... sourcePaths) {
+        java.io.File compiled = findFile(compiledPath);
+        if (compiled == null) {
+            return false;
+        }
+        for (String sourcePath : sourcePaths) {
+            java.io.File source = findFile(sourcePath);
+            if (source != null && source.lastModified() > compiled.lastModified()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves a map path, falling back to the src/ directory when run from the project root.
+     */
+    private static java.io.File resolveFile(String filepath) throws IOException {
+        java.io.File file = findFile(filepath);
+        if (file == null) {
+            throw new IOException("File not found: " + new java.io.File(filepath).getAbsolutePath());
+        }
+        return file;
+    }
+
+    /**
+     * Finds a map or data file at its given path or under src/.
+     * @return the file, or null if it exists in neither place
+     */
+    static java.io.File findFile(String filepath) {
+        java.io.File file = new java.io.File(filepath);
+
+        // Try primary path first
+        if (!file.exists()) {
+            // Try with src/ prefix
+            java.io.File srcFile = new java.io.File("src/" + filepath);
+            if (srcFile.exists()) {
+                file = srcFile;
+            }
+        }
+
+        return file.exists() ? file : null;
+    }
+
+    /**
+     * Converts a grid to a formatted string for display.
      *
-     * @param grid the 2D char array
+     * @param grid the grid
      * @return a formatted string representation of the grid
      */
-    public static String gridToString(char[][] grid) {
-        StringBuilder sb = new StringBuilder();
-        for (char[] row : grid) {
-            for (char cell : row) {
-                sb.append(cell).append(" ");
+    public static String gridToString(RoomGrid grid) {
+        StringBuilder sb = new StringBuilder(grid.getRows() * (grid.getCols() * 2 + 1));
+        for (int i = 0; i < grid.getRows(); i++) {
+            for (int j = 0; j < grid.getCols(); j++) {
+                sb.append(grid.get(i, j)).append(" ");
             }
             sb.append("\n");
         }
@@ -77,14 +310,14 @@ public class MapLoader {
     /**
      * Gets the character at a specific position in a grid.
      *
-     * @param grid the 2D char array
+     * @param grid the grid
      * @param row the row index
      * @param col the column index
      * @return the character at that position, or ' ' if out of bounds
      */
-    public static char getCellAt(char[][] grid, int row, int col) {
-        if (row >= 0 && row < grid.length && col >= 0 && col < grid[0].length) {
-            return grid[row][col];
+    public static char getCellAt(RoomGrid grid, int row, int col) {
+        if (grid.contains(row, col)) {
+            return grid.get(row, col);
         }
         return ' ';
     }
@@ -92,19 +325,15 @@ public class MapLoader {
     /**
      * Finds the position of a character in a grid (first occurrence).
      *
-     * @param grid the 2D char array
+     * @param grid the grid
      * @param target the character to find
      * @return an int array {row, col}, or {-1, -1} if not found
      */
-    public static int[] findPosition(char[][] grid, char target) {
-        for (int i = 0; i < grid.length; i++) {
-            for (int j = 0; j < grid[i].length; j++) {
-                if (grid[i][j] == target) {
-                    return new int[]{i, j};
-                }
-            }
+    public static int[] findPosition(RoomGrid grid, char target) {
+        int index = grid.indexOf(target);
+        if (index < 0) {
+            return new int[]{-1, -1};
         }
-        return new int[]{-1, -1};
+        return new int[]{index / grid.getCols(), index % grid.getCols()};
     }
 }
-
@@ -1,58 +1,113 @@
 package edu.wctc;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 /**
  * Represents the game world and manages game state.
  * Contains all rooms, the player, and handles navigation and interactions.
  */
 public class Maze {
-    private Room currentRoom;
+    // Fixed command results, shared rather than rebuilt per command and registered so
+    // remote clients can cache them by ID
+    private static final String MOVED = "→ You move in that direction.";
+    private static final String CANNOT_MOVE = "✗ You cannot go that way.";
+    private static final String UNKNOWN_COMMAND = "✗ Unknown command. Try n, s, e, w, u, d, i, l, x, v, or q.";
+    private static final String NO_ENEMY = "✗ There is no one here who deserves your wrath.";
+    private static final String NOTHING_TO_INTERACT = "✗ There is nothing to interact with in this room.";
+    private static final String NOTHING_TO_LOOT = "✗ There is nothing to loot in this room.";
+
+    static {
+        NarrativeRegistry.register(MOVED, CANNOT_MOVE, UNKNOWN_COMMAND, NO_ENEMY, NOTHING_TO_INTERACT,
+                NOTHING_TO_LOOT);
+    }
+
+    // Saved game format: magic "MAZV" and version, followed by writeState
+    public static final int SAVE_MAGIC = 0x4D415A56;
+    public static final short SAVE_VERSION = 1;
+
+    private volatile Room currentRoom;
     private Player player;
     private boolean isFinished;
     private SagesChamber sagesChamber;
+    private GameRandom random;  // Session random source, recorded so fights can be replayed
+    private final List<Room> rooms = new ArrayList<>();  // Every room, in a fixed order for saved state
+    private BossChamber bossChamber;
+    private GameJournal journal;  // Records state-changing calls, or null
+    private byte lastStatus = CommandResults.OK;  // CommandResults status of the last command
     private String lastEntranceNarrative = "";  // Track entrance narrative for GUI
+    private final Map<String, Exception> mapLoadErrors = Collections.synchronizedMap(new LinkedHashMap<>());  // Room name -> load failure
+
+    // Rooms with maps in memory, least recently used first, with their estimated size.
+    // Bounded by -Dmaze.roomCacheBytes (default 8 MB); the current room is never evicted.
+    private final LinkedHashMap<Room, Long> loadedRooms = new LinkedHashMap<>(16, 0.75f, true);
+    private long loadedRoomBytes = 0;
+    private long roomCacheBytes = Long.getLong("maze.roomCacheBytes", 8L << 20);
 
     /**
      * Constructs a Maze and initializes all rooms and connections.
      * Sets the player's starting room and initial state.
-     * Loads CSV map data for each room.
+     * Only the starting room's maps are loaded; other rooms load when first
+     * entered or prefetched.
      */
     public Maze() throws java.io.IOException {
+        this(true);
+    }
+
+    /**
+     * Constructs a Maze, optionally without any map layers.
+     * A maze without maps plays exactly the same but never reads map files, which
+     * suits headless runs such as {@link Simulation}; its rooms render as [Map not loaded].
+     * @param loadMaps true to load room maps as they are entered
+     */
+    public Maze(boolean loadMaps) throws java.io.IOException {
+        this(loadMaps, new GameRandom());
+    }
+
+    /**
+     * Constructs a Maze with a given random source, so its fights are reproducible.
+     * @param loadMaps true to load room maps as they are entered
+     * @param random the session's random source
+     */
+    public Maze(boolean loadMaps, GameRandom random) throws java.io.IOException {
+        this.random = random;
         this.player = new Player();
         this.isFinished = false;
 
         // Create all rooms
         WeaponChamber weaponChamber = new WeaponChamber("Weapon Chamber");
         sagesChamber = new SagesChamber("Sage's Chamber");
-        BossChamber bossChamber = new BossChamber("Boss Chamber");
+        bossChamber = new BossChamber("Boss Chamber");
+        rooms.add(weaponChamber);
+        rooms.add(sagesChamber);
+        rooms.add(bossChamber);
 
-        // Load CSV maps for each room from compiled directory
-        String basePath = "edu/wctc/maps/";
-
-        try {
-            weaponChamber.loadMaps(
-                basePath + "WeaponChamber/layout.csv",
-                basePath + "WeaponChamber/objects.csv",
-                basePath + "WeaponChamber/collision.csv"
-            );
-
-            sagesChamber.loadMaps(
-                basePath + "SagesChamber/layout.csv",
-                basePath + "SagesChamber/objects.csv",
-                basePath + "SagesChamber/collision.csv"
-            );
-
-            bossChamber.loadMaps(
-                basePath + "BossChamber/layout.csv",
-                basePath + "BossChamber/objects.csv",
-                basePath + "BossChamber/collision.csv"
-            );
-        } catch (java.io.IOException e) {
-            // Maps will display as [Map not loaded] if files cannot be found
-            // Game is still fully playable in text mode
+        // Point each room at its CSV maps from compiled directory
+        if (loadMaps) {
+            String basePath = "edu/wctc/maps/";
+            weaponChamber.setMapSource(basePath + "WeaponChamber");
+            sagesChamber.setMapSource(basePath + "SagesChamber");
+            bossChamber.setMapSource(basePath + "BossChamber");
         }
 
         // Set sage reference for boss encounter
         bossChamber.setSageReference(sagesChamber);
+        bossChamber.setRandom(random);
 
         // Set room connections
         // Weapon Chamber connections
@@ -67,9 +122,100 @@ public class Maze {
 
         // Set player's starting room and mark as entered
         this.currentRoom = weaponChamber;
+        loadRoomMaps(currentRoom);
         this.currentRoom.markAsEntered();
     }
 
+    /**
+     * Loads a room's maps if needed and records it in the loaded-room LRU.
+     * Failures are recorded in the map load errors and logged, whether the load came from
+     * construction, a move or a prefetch; the room then displays as [Map not loaded] and
+     * the game is still fully playable in text mode. A later successful load clears the error.
+     * @param room the room to load
+     */
+    private void loadRoomMaps(Room room) {
+        try {
+            room.ensureMapsLoaded();
+        } catch (java.io.IOException e) {
+            // Logged once per failure, not on every retry as the player comes back
+            if (mapLoadErrors.put(room.getName(), e) == null) {
+                System.err.println("⚠ Could not load map for " + room.getName() + ": " + e.getMessage());
+            }
+            return;
+        }
+        mapLoadErrors.remove(room.getName());
+        trackLoadedRoom(room);
+    }
+
+    /**
+     * Marks a loaded room as most recently used, then unloads the least recently used
+     * rooms other than the current one until the loaded maps fit the cache bound.
+     */
+    private void trackLoadedRoom(Room room) {
+        synchronized (loadedRooms) {
+            long bytes = room.getMapBytes();
+            Long previous = loadedRooms.put(room, bytes);
+            loadedRoomBytes += bytes - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<Room, Long>> it = loadedRooms.entrySet().iterator();
+            while (loadedRoomBytes > roomCacheBytes && it.hasNext()) {
+                Map.Entry<Room, Long> entry = it.next();
+                if (entry.getKey() == currentRoom) {
+                    continue;
+                }
+                entry.getKey().unloadMaps();
+                loadedRoomBytes -= entry.getValue();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Starts loading the maps of the room in the given direction in the background,
+     * so that moving there does not wait on disk.
+     * @param direction the direction of the room to prefetch
+     * @return a future that completes once the room is loaded (or failed to load)
+     */
+    public Future<?> prefetch(char direction) {
+        Room room = currentRoom.getAdjoiningRoom(direction);
+        if (room == null || room.isMapsLoaded()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return ForkJoinPool.commonPool().submit(() -> loadRoomMaps(room));
+    }
+
+    /**
+     * Prefetches every room adjoining the current room.
+     */
+    public void prefetchAdjacentRooms() {
+        for (char direction : new char[]{'n', 's', 'e', 'w', 'u', 'd'}) {
+            prefetch(direction);
+        }
+    }
+
+    /**
+     * Sets how much estimated map data this session keeps loaded before evicting
+     * rooms the player has left.
+     * @param bytes the maximum estimated size of loaded room maps
+     */
+    public void setRoomCacheBytes(long bytes) {
+        synchronized (loadedRooms) {
+            this.roomCacheBytes = bytes;
+        }
+        trackLoadedRoom(currentRoom);
+    }
+
+    /**
+     * Gets the rooms whose maps failed to load, keyed by room name. Each failure is
+     * also logged when it happens. Rooms listed here display as [Map not loaded].
+     * @return a snapshot of room name to the exception that stopped its load
+     */
+    public Map<String, Exception> getMapLoadErrors() {
+        synchronized (mapLoadErrors) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(mapLoadErrors));
+        }
+    }
+
     /**
      * Attempts to move the player in the specified direction.
      * @param direction the direction to move ('n', 's', 'e', 'w', 'u', 'd')
@@ -78,6 +224,7 @@ public class Maze {
     public boolean move(char direction) {
         if (currentRoom.isValidDirection(direction)) {
             currentRoom = currentRoom.getAdjoiningRoom(direction);
+            loadRoomMaps(currentRoom);
 
             // Generate entrance narrative for first entry
             if (currentRoom.isFirstEntry()) {
@@ -86,12 +233,125 @@ public class Maze {
             } else {
                 lastEntranceNarrative = "";
             }
+            record(Commands.opcode(direction));
 
             return true;
         }
         return false;
     }
 
+    /**
+     * Executes one single-character command, as typed at the console.
+     * @param command n, s, e, w, u, d (move), i (interact), l (loot), x (exit) or v (inventory)
+     * @return a String describing the result of the command
+     */
+    public String executeCommand(char command) {
+        return execute(Commands.opcode(command));
+    }
+
+    /**
+     * Executes one compiled command.
+     * @param opcode a Commands opcode
+     * @return a String describing the result of the command
+     */
+    public String execute(byte opcode) {
+        lastStatus = CommandResults.OK;
+        switch (opcode) {
+            case Commands.NORTH:
+            case Commands.SOUTH:
+            case Commands.EAST:
+            case Commands.WEST:
+            case Commands.UP:
+            case Commands.DOWN:
+                if (move(Commands.letter(opcode))) {
+                    return MOVED;
+                }
+                lastStatus = CommandResults.FAILED;
+                return CANNOT_MOVE;
+            case Commands.INTERACT:
+                return interactWithCurrentRoom();
+            case Commands.LOOT:
+                return lootCurrentRoom();
+            case Commands.EXIT:
+                return exitCurrentRoom();
+            case Commands.INVENTORY:
+                return "\n" + getPlayerInventory();
+            default:
+                lastStatus = CommandResults.UNKNOWN;
+                return UNKNOWN_COMMAND;
+        }
+    }
+
+    /**
+     * Gets how the last command run through execute or executeCommand went.
+     * @return CommandResults.OK, FAILED (refused, e.g. a wall or nothing left to loot) or UNKNOWN
+     */
+    public byte getLastStatus() {
+        return lastStatus;
+    }
+
+    /**
+     * Executes a batch of compiled commands in one call, recording each result.
+     * Commands after the game ends are recorded as SKIPPED without being run.
+     * @param opcodes the opcode stream, e.g. from Commands.compile
+     * @param from the first opcode to run
+     * @param to the end of the opcodes to run (exclusive)
+     * @param results the buffer to append results to
+     * @return the number of commands actually run
+     */
+    public int executeBatch(byte[] opcodes, int from, int to, CommandResults results) {
+        int executed = 0;
+        for (int i = from; i < to; i++) {
+            byte opcode = opcodes[i];
+            if (isFinished) {
+                results.add(opcode, CommandResults.SKIPPED, null);
+                continue;
+            }
+            String message = execute(opcode);
+            executed++;
+            results.add(opcode, lastStatus, message);
+        }
+        return executed;
+    }
+
+    /**
+     * Executes a whole opcode stream in one call.
+     * @param opcodes the opcode stream
+     * @param results the buffer to append results to
+     * @return the number of commands actually run
+     */
+    public int executeBatch(byte[] opcodes, CommandResults results) {
+        return executeBatch(opcodes, 0, opcodes.length, results);
+    }
+
+    /**
+     * Gets the portal for a door cell in the current room.
+     * @param doorRow the door's row
+     * @param doorCol the door's column
+     * @return the portal, or null if the cell is not a door leading to another room
+     */
+    public Portal getPortal(int doorRow, int doorCol) {
+        return currentRoom.getPortal(doorRow, doorCol);
+    }
+
+    /**
+     * Moves the player through a door in the current room and places them beside the
+     * matching door of the room it leads to.
+     * @param doorRow the door's row
+     * @param doorCol the door's column
+     * @return the arrival cell {row, col} in the new room, or null if the door leads nowhere
+     */
+    public int[] moveThroughDoor(int doorRow, int doorCol) {
+        Portal portal = currentRoom.getPortal(doorRow, doorCol);
+        if (portal == null || !move(portal.direction)) {
+            return null;
+        }
+        int[] arrival = currentRoom.getArrivalCell(portal.getArrivalWall(), portal.slot);
+        currentRoom.playerRow = arrival[0];
+        currentRoom.playerCol = arrival[1];
+        return arrival;
+    }
+
     /**
      * Attempts to exit the current room.
      * If the room is exitable, triggers the exit logic (potentially ending the game).
@@ -100,11 +360,14 @@ public class Maze {
     public String exitCurrentRoom() {
         if (currentRoom instanceof Exitable) {
             String result = ((Exitable) currentRoom).exit(player);
+            lastStatus = currentRoom.takeActionOutcome() == Room.ACTION_REFUSED ? CommandResults.FAILED : CommandResults.OK;
             isFinished = true;
+            record(Commands.EXIT);
             return result;
         }
         // Not a boss room - show message that there's no one to fight here
-        return "✗ There is no one here who deserves your wrath.";
+        lastStatus = CommandResults.FAILED;
+        return NO_ENEMY;
     }
 
     /**
@@ -114,9 +377,16 @@ public class Maze {
      */
     public String interactWithCurrentRoom() {
         if (currentRoom instanceof Interactable) {
-            return ((Interactable) currentRoom).interact(player);
+            String result = ((Interactable) currentRoom).interact(player);
+            byte outcome = currentRoom.takeActionOutcome();
+            lastStatus = outcome == Room.ACTION_REFUSED ? CommandResults.FAILED : CommandResults.OK;
+            if (outcome == Room.ACTION_DONE) {
+                record(Commands.INTERACT);
+            }
+            return result;
         }
-        return "✗ There is nothing to interact with in this room.";
+        lastStatus = CommandResults.FAILED;
+        return NOTHING_TO_INTERACT;
     }
 
     /**
@@ -126,9 +396,144 @@ public class Maze {
      */
     public String lootCurrentRoom() {
         if (currentRoom instanceof Lootable) {
-            return ((Lootable) currentRoom).loot(player);
+            String result = ((Lootable) currentRoom).loot(player);
+            byte outcome = currentRoom.takeActionOutcome();
+            lastStatus = outcome == Room.ACTION_REFUSED ? CommandResults.FAILED : CommandResults.OK;
+            if (outcome == Room.ACTION_DONE) {
+                record(Commands.LOOT);
+            }
+            return result;
+        }
+        lastStatus = CommandResults.FAILED;
+        return NOTHING_TO_LOOT;
+    }
+
+    /**
+     * Sets the journal that records this session's state-changing calls.
+     * @param journal the journal, or null to stop recording
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Gets the journal that records this session's state-changing calls.
+     * @return the journal, or null if the session is not recorded
+     */
+    public GameJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Records a state-changing call in the journal, if there is one.
+     */
+    private void record(byte opcode) {
+        if (journal != null) {
+            try {
+                journal.record(opcode, this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write game journal", e);
+            }
         }
-        return "✗ There is nothing to loot in this room.";
+    }
+
+    /**
+     * Writes the whole game state: random source position, player, current room and
+     * every room's state. Map layers are not written; they reload from their map sources.
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(random.getSeed());
+        out.writeLong(random.getDraws());
+        out.writeBoolean(isFinished);
+        out.writeInt(rooms.indexOf(currentRoom));
+        out.writeInt(player.getScore());
+        out.writeInt(player.getItems().size());
+        for (String item : player.getItems()) {
+            out.writeUTF(item);
+        }
+        out.writeInt(rooms.size());
+        for (Room room : rooms) {
+            room.writeState(out);
+        }
+    }
+
+    /**
+     * Restores game state written by {@link #writeState(DataOutput)}, replacing this session's.
+     * @param in where to read from
+     * @throws IOException if reading fails or the state does not match this maze
+     */
+    public void readState(DataInput in) throws IOException {
+        GameRandom restored = GameRandom.at(in.readLong(), in.readLong());
+        boolean finished = in.readBoolean();
+        int current = in.readInt();
+        int score = in.readInt();
+        List<String> items = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            String item = in.readUTF();
+            if (ItemRegistry.get(item) == null) {
+                throw new IOException("Saved state has unknown item: " + item);
+            }
+            items.add(item);
+        }
+        int roomCount = in.readInt();
+        if (roomCount != rooms.size() || current < 0 || current >= rooms.size()) {
+            throw new IOException("Saved state has " + roomCount + " rooms (current " + current
+                    + ") but this maze has " + rooms.size());
+        }
+        for (Room room : rooms) {
+            room.readState(in);
+        }
+
+        random = restored;
+        bossChamber.setRandom(random);
+        isFinished = finished;
+        player.restore(score, items);
+        lastEntranceNarrative = "";
+        synchronized (loadedRooms) {
+            loadedRooms.clear();
+            loadedRoomBytes = 0;
+        }
+        currentRoom = rooms.get(current);
+        loadRoomMaps(currentRoom);
+    }
+
+    /**
+     * Saves the complete game state in the versioned binary save format.
+     * Rooms save only their object edits, not whole grids, so a save is a few hundred bytes.
+     * @return the saved game
+     */
+    public byte[] save() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(SAVE_MAGIC);
+            out.writeShort(SAVE_VERSION);
+            writeState(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // Cannot happen writing to memory
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores a game saved by {@link #save()}, replacing this session's state.
+     * @param saved the saved game
+     * @throws IOException if the save is not in a supported format or does not match this maze
+     */
+    public void restore(byte[] saved) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(saved));
+        int magic = in.readInt();
+        short version = in.readShort();
+        if (magic != SAVE_MAGIC) {
+            throw new IOException("Not a saved game");
+        }
+        if (version != SAVE_VERSION) {
+            throw new IOException("Unsupported save version " + version + ", expected " + SAVE_VERSION);
+        }
+        readState(in);
     }
 
     /**
@@ -147,6 +552,14 @@ public class Maze {
         return player.getInventory();
     }
 
+    /**
+     * Gets the items in the player's inventory.
+     * @return an unmodifiable list of item names, in the order they were picked up
+     */
+    public List<String> getPlayerItems() {
+        return player.getItems();
+    }
+
     /**
      * Gets the description of the current room.
      * @return the room description as a String
@@ -155,6 +568,15 @@ public class Maze {
         return currentRoom.getDescription();
     }
 
+    /**
+     * Writes the current room's description to an output, without building it as a String.
+     * @param out where to write the description
+     * @throws IOException if writing fails
+     */
+    public void writeCurrentRoomDescription(Appendable out) throws IOException {
+        currentRoom.writeDescription(out);
+    }
+
     /**
      * Gets the available exits from the current room.
      * @return a formatted string of available exits
@@ -179,6 +601,14 @@ public class Maze {
         return currentRoom.getName();
     }
 
+    /**
+     * Gets the session's random source, whose seed and draw count identify every roll.
+     * @return the GameRandom
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
     /**
      * Gets the current room object (for GUI access to grid data).
      * @return the current Room
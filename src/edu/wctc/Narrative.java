@@ -0,0 +1,18 @@
+package edu.wctc;
+
+/**
+ * A block of narrative text with a stable ID derived from its content.
+ * Remote clients cache blocks by ID, so a block they have seen is sent as its ID only.
+ * Instances come from {@link NarrativeRegistry#of(String)}.
+ */
+public class Narrative {
+    public final String id;    // 16 hex digits of the hash
+    public final long hash;    // 64-bit FNV-1a hash of the text
+    public final String text;
+
+    Narrative(long hash, String text) {
+        this.id = String.format("%016x", hash);
+        this.hash = hash;
+        this.text = text;
+    }
+}
@@ -0,0 +1,136 @@
+package edu.wctc;
+
+/**
+ * Bounded log of narrative lines for GameGUI, each with a style.
+ * Lines are kept in a ring buffer: once the log holds more than its line cap, or its
+ * lines' estimated size passes its byte cap, the oldest lines are dropped. Appending
+ * costs the same however long the game has run.
+ *
+ * Sizes are estimated at two bytes per character plus LINE_OVERHEAD per line.
+ * Caps can be set with -Dmaze.narrativeLines (default 5000) and
+ * -Dmaze.narrativeBytes (default 1 MB).
+ */
+public class NarrativeLog {
+    // Styles, indexes into the viewer's palette
+    public static final byte PLAIN = 0;
+    public static final byte NARRATIVE = 1;
+    public static final byte SENSORY = 2;
+    public static final byte ITEM = 3;
+    public static final byte DANGER = 4;
+
+    public static final int LINE_OVERHEAD = 32;
+
+    private final String[] lines;
+    private final byte[] styles;
+    private final long maxBytes;
+    private int start = 0;  // Ring index of the oldest line
+    private int size = 0;
+    private long bytes = 0;
+    private long dropped = 0;  // Lines dropped so far
+
+    /**
+     * Constructs a NarrativeLog with caps from the system properties.
+     */
+    public NarrativeLog() {
+        this(Integer.getInteger("maze.narrativeLines", 5000), Long.getLong("maze.narrativeBytes", 1L << 20));
+    }
+
+    /**
+     * Constructs a NarrativeLog.
+     * @param maxLines the most lines kept
+     * @param maxBytes the most estimated bytes kept; the newest line is always kept
+     * @throws IllegalArgumentException if either cap is less than 1
+     */
+    public NarrativeLog(int maxLines, long maxBytes) {
+        if (maxLines < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("Narrative log caps must be at least 1: "
+                    + maxLines + " lines, " + maxBytes + " bytes");
+        }
+        this.lines = new String[maxLines];
+        this.styles = new byte[maxLines];
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Appends text as one or more lines, split at line breaks.
+     * @param text the text
+     * @param style the style for every line of the text
+     */
+    public void append(String text, byte style) {
+        int from = 0;
+        int newline;
+        while ((newline = text.indexOf('\n', from)) >= 0) {
+            appendLine(text.substring(from, newline), style);
+            from = newline + 1;
+        }
+        appendLine(from == 0 ? text : text.substring(from), style);
+    }
+
+    private void appendLine(String line, byte style) {
+        if (size == lines.length) {
+            dropOldest();
+        }
+        int index = (start + size) % lines.length;
+        lines[index] = line;
+        styles[index] = style;
+        size++;
+        bytes += estimateBytes(line);
+        while (bytes > maxBytes && size > 1) {
+            dropOldest();
+        }
+    }
+
+    private void dropOldest() {
+        bytes -= estimateBytes(lines[start]);
+        lines[start] = null;
+        start = (start + 1) % lines.length;
+        size--;
+        dropped++;
+    }
+
+    /**
+     * Gets the number of lines held.
+     * @return the line count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a line.
+     * @param i the line's index, 0 being the oldest line held
+     * @return the line's text
+     */
+    public String getLine(int i) {
+        return lines[(start + i) % lines.length];
+    }
+
+    /**
+     * Gets a line's style.
+     * @param i the line's index, 0 being the oldest line held
+     * @return the style, e.g. NARRATIVE
+     */
+    public byte getStyle(int i) {
+        return styles[(start + i) % lines.length];
+    }
+
+    /**
+     * Gets how many lines have been dropped to stay within the caps.
+     * @return the dropped line count
+     */
+    public long getDroppedLines() {
+        return dropped;
+    }
+
+    /**
+     * Gets the estimated size of the lines held.
+     * @return the size in bytes
+     */
+    public long getEstimatedBytes() {
+        return bytes;
+    }
+
+    private static long estimateBytes(String line) {
+        return LINE_OVERHEAD + 2L * line.length();
+    }
+}
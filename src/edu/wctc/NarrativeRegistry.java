@@ -0,0 +1,74 @@
+package edu.wctc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of the static narrative blocks by text and by ID.
+ * The chambers register their fixed descriptions and dialogue when their classes load and
+ * return the same String instances every time, so a block's ID is found without rehashing
+ * its text. Dynamic text (command results, score lines) is never registered: it gets an
+ * ID for the call but is not remembered, so it cannot crowd out the static blocks.
+ */
+public class NarrativeRegistry {
+    private static final Map<String, Narrative> BY_TEXT = new ConcurrentHashMap<>();
+    private static final Map<String, Narrative> BY_ID = new ConcurrentHashMap<>();
+
+    private NarrativeRegistry() {
+    }
+
+    /**
+     * Registers static narrative blocks so clients can cache them by ID.
+     * @param texts the fixed texts
+     */
+    public static void register(String... texts) {
+        for (String text : texts) {
+            Narrative narrative = new Narrative(hash(text), text);
+            if (BY_TEXT.putIfAbsent(text, narrative) == null) {
+                BY_ID.put(narrative.id, narrative);
+            }
+        }
+    }
+
+    /**
+     * Gets the narrative block for a text.
+     * @param text the narrative text
+     * @return the registered block, or an unregistered one if the text is not static
+     */
+    public static Narrative of(String text) {
+        Narrative narrative = BY_TEXT.get(text);
+        return narrative != null ? narrative : new Narrative(hash(text), text);
+    }
+
+    /**
+     * Gets a registered narrative block by ID, e.g. for a client that lost its cache.
+     * @param id the block's ID
+     * @return the block, or null if it is not registered
+     */
+    public static Narrative get(String id) {
+        return BY_ID.get(id);
+    }
+
+    /**
+     * Gets the number of registered blocks.
+     * @return the registry size
+     */
+    public static int size() {
+        return BY_TEXT.size();
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of a text's UTF-16 code units.
+     * @param text the text
+     * @return the hash
+     */
+    public static long hash(String text) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            h = (h ^ (c & 0xFF)) * 0x100000001b3L;
+            h = (h ^ (c >>> 8)) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
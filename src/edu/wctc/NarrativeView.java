@@ -0,0 +1,295 @@
+package edu.wctc;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.Timer;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+
+/**
+ * Scrollable viewer for a NarrativeLog, for use in a JScrollPane.
+ * Lines are word-wrapped to the viewport width as they are appended, and the wrapped
+ * rows are cached for that width, so only a resize wraps the whole log again. Only the
+ * rows inside the visible area are drawn, and nothing is laid out as a document, so
+ * painting costs the same however long the log is. Appends are batched: the log takes
+ * them at once, but the viewer resizes, scrolls and repaints at most once per
+ * FRAME_MILLIS. It stays scrolled to the newest line unless the player has scrolled up.
+ */
+public class NarrativeView extends JComponent implements Scrollable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int FRAME_MILLIS = 16;
+
+    // Colors per NarrativeLog style
+    private static final Color[] PALETTE = {
+            new Color(200, 200, 200),  // PLAIN
+            new Color(144, 238, 144),  // NARRATIVE: green
+            new Color(135, 206, 235),  // SENSORY: cyan
+            new Color(255, 215, 0),    // ITEM: gold
+            new Color(255, 99, 71)     // DANGER: red
+    };
+    private static final int PADDING = 4;
+
+    private final NarrativeLog log;
+    private final Timer frameTimer;
+    private final Rectangle clipBounds = new Rectangle();  // Reused by each paint
+    private final WrappedRows rows = new WrappedRows();
+    private int lineHeight;
+    private int ascent;
+    private long shownDroppedRows = 0;  // Rows dropped from the top when last laid out
+
+    /**
+     * Constructs a NarrativeView.
+     * @param log the lines to show
+     * @param font the font for every line
+     */
+    public NarrativeView(NarrativeLog log, Font font) {
+        this.log = log;
+        setFont(font);
+        setOpaque(true);
+        frameTimer = new Timer(FRAME_MILLIS, e -> flush());
+        frameTimer.setRepeats(false);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        FontMetrics metrics = getFontMetrics(font);
+        lineHeight = metrics.getHeight();
+        ascent = metrics.getAscent();
+        if (log != null) {
+            rows.rewrap(log, metrics, rows.width);
+        }
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        super.setBounds(x, y, width, height);
+        // The viewport sets this view's width to its own; a new width needs new rows
+        int wrapWidth = Math.max(1, width - 2 * PADDING);
+        if (wrapWidth != rows.width) {
+            rows.rewrap(log, getFontMetrics(getFont()), wrapWidth);
+            revalidate();
+            repaint();
+        }
+    }
+
+    /**
+     * Appends text to the log, wrapping its lines to the current width. The viewer
+     * catches up on the next frame. Call on the EDT.
+     * @param text the text, which may hold several lines
+     * @param style the NarrativeLog style, e.g. NarrativeLog.ITEM
+     */
+    public void append(String text, byte style) {
+        long before = log.getDroppedLines() + log.size();
+        log.append(text, style);
+        int added = (int) Math.min(log.size(), log.getDroppedLines() + log.size() - before);
+        FontMetrics metrics = getFontMetrics(getFont());
+        rows.dropLinesBefore(log.getDroppedLines());
+        for (int i = log.size() - added; i < log.size(); i++) {
+            rows.wrap(log.getLine(i), log.getStyle(i), log.getDroppedLines() + i, metrics);
+        }
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+
+    /**
+     * Lays out and repaints for everything appended since the last frame.
+     */
+    private void flush() {
+        // Stay at the bottom if the player was there, allowing for rows dropped from the top
+        boolean following = isScrolledToEnd();
+        int droppedNow = (int) (rows.dropped - shownDroppedRows);
+        shownDroppedRows = rows.dropped;
+        revalidate();
+        if (getParent() instanceof JViewport) {
+            JViewport viewport = (JViewport) getParent();
+            viewport.validate();
+            Rectangle view = viewport.getViewRect();
+            int y = following ? getPreferredSize().height - view.height
+                    : view.y - droppedNow * lineHeight;
+            viewport.setViewPosition(new java.awt.Point(view.x, Math.max(0, y)));
+        }
+        repaint();
+    }
+
+    private boolean isScrolledToEnd() {
+        if (!(getParent() instanceof JViewport)) {
+            return true;
+        }
+        Rectangle view = ((JViewport) getParent()).getViewRect();
+        return view.y + view.height >= getHeight() - lineHeight;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        clipBounds.setBounds(0, 0, getWidth(), getHeight());
+        g2.getClipBounds(clipBounds);
+        g2.setColor(getBackground());
+        g2.fillRect(clipBounds.x, clipBounds.y, clipBounds.width, clipBounds.height);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setFont(getFont());
+
+        // Only the rows the clip touches
+        int first = Math.max(0, (clipBounds.y - PADDING) / lineHeight);
+        int last = Math.min(rows.size - 1, (clipBounds.y + clipBounds.height - PADDING) / lineHeight);
+        for (int i = first; i <= last; i++) {
+            g2.setColor(PALETTE[rows.getStyle(i)]);
+            g2.drawString(rows.getText(i), PADDING, PADDING + i * lineHeight + ascent);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        // Rows are wrapped to the width the view is given, so it asks for no particular width
+        return new Dimension(2 * PADDING, rows.size * lineHeight + 2 * PADDING);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? lineHeight : lineHeight * 2;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        int extent = orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+        return Math.max(lineHeight, extent - lineHeight);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        // Always as wide as the viewport: rows wrap instead of scrolling sideways
+        return getParent() instanceof JViewport;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport && getParent().getHeight() > getPreferredSize().height;
+    }
+
+    /**
+     * The log's lines word-wrapped to one width, as a ring of rows in log order.
+     * Each row remembers which log line it came from (counted from the start of the game,
+     * so dropped lines keep their numbers), so rows of lines the log drops can be dropped too.
+     */
+    private static final class WrappedRows {
+        private String[] text = new String[256];
+        private byte[] styles = new byte[256];
+        private long[] lineNumbers = new long[256];
+        private int start = 0;   // Ring index of the oldest row
+        private int size = 0;
+        private long dropped = 0;  // Rows dropped so far
+        private int width = 0;     // Wrap width in pixels, or 0 before the view is laid out
+
+        String getText(int i) {
+            return text[(start + i) % text.length];
+        }
+
+        byte getStyle(int i) {
+            return styles[(start + i) % text.length];
+        }
+
+        /**
+         * Wraps the whole log again, at a new width or for a new font.
+         */
+        void rewrap(NarrativeLog log, FontMetrics metrics, int width) {
+            this.width = width;
+            dropped += size;
+            start = 0;
+            size = 0;
+            for (int i = 0; i < log.size(); i++) {
+                wrap(log.getLine(i), log.getStyle(i), log.getDroppedLines() + i, metrics);
+            }
+        }
+
+        /**
+         * Drops the rows of log lines numbered below the log's oldest line.
+         */
+        void dropLinesBefore(long firstLine) {
+            while (size > 0 && lineNumbers[start] < firstLine) {
+                text[start] = null;
+                start = (start + 1) % text.length;
+                size--;
+                dropped++;
+            }
+        }
+
+        /**
+         * Adds a line's rows: broken after the last space that fits, or mid-word if a
+         * word is wider than the whole row.
+         */
+        void wrap(String line, byte style, long lineNumber, FontMetrics metrics) {
+            if (width <= 0 || metrics.stringWidth(line) <= width) {
+                add(line, style, lineNumber);
+                return;
+            }
+            int from = 0;
+            while (from < line.length()) {
+                int end = from;
+                int breakAt = -1;  // Just after the last space that fits
+                int rowWidth = 0;
+                while (end < line.length()) {
+                    int codePoint = line.codePointAt(end);
+                    rowWidth += metrics.charWidth(codePoint);
+                    if (rowWidth > width && end > from) {
+                        break;
+                    }
+                    end += Character.charCount(codePoint);
+                    if (codePoint == ' ') {
+                        breakAt = end;
+                    }
+                }
+                if (end < line.length() && breakAt > from) {
+                    end = breakAt;
+                }
+                add(line.substring(from, end), style, lineNumber);
+                from = end;
+            }
+        }
+
+        private void add(String row, byte style, long lineNumber) {
+            if (size == text.length) {
+                grow();
+            }
+            int i = (start + size) % text.length;
+            text[i] = row;
+            styles[i] = style;
+            lineNumbers[i] = lineNumber;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = text.length * 2;
+            String[] newText = new String[capacity];
+            byte[] newStyles = new byte[capacity];
+            long[] newLineNumbers = new long[capacity];
+            for (int i = 0; i < size; i++) {
+                int from = (start + i) % text.length;
+                newText[i] = text[from];
+                newStyles[i] = styles[from];
+                newLineNumbers[i] = lineNumbers[from];
+            }
+            text = newText;
+            styles = newStyles;
+            lineNumbers = newLineNumbers;
+            start = 0;
+        }
+    }
+}
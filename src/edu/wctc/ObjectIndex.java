@@ -0,0 +1,189 @@
+package edu.wctc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse index from marker character to the cells that hold it.
+ * Object layers are almost entirely empty, so finding a marker through the index
+ * costs O(k) in the number of matching cells instead of a full O(rows x cols) scan.
+ * Cells are row-major indices (row * cols + col), kept in ascending order.
+ *
+ * Position arrays are replaced rather than modified on update, so a copied index
+ * shares every marker list it has not changed with the index it was copied from.
+ */
+public class ObjectIndex {
+    private static final int[] NONE = new int[0];
+
+    private final int cols;
+    private final Map<Character, int[]> positions;
+
+    private ObjectIndex(int cols, Map<Character, int[]> positions) {
+        this.cols = cols;
+        this.positions = positions;
+    }
+
+    /**
+     * Builds an index of every non-blank cell in a grid.
+     * @param grid the grid to index
+     * @return the index
+     */
+    public static ObjectIndex build(RoomGrid grid) {
+        return build(grid, null);
+    }
+
+    /**
+     * Builds an index of the cells in a grid that hold one of the given markers.
+     * @param grid the grid to index
+     * @param markers the characters to index, or null for every non-blank character
+     * @return the index
+     */
+    public static ObjectIndex build(RoomGrid grid, String markers) {
+        Map<Character, int[]> counts = new HashMap<>();
+        int cells = grid.getRows() * grid.getCols();
+
+        // Count first so each marker's array is allocated once at its final size
+        for (int i = 0; i < cells; i++) {
+            char c = grid.get(i);
+            if (isIndexed(c, markers)) {
+                counts.computeIfAbsent(c, k -> new int[1])[0]++;
+            }
+        }
+
+        Map<Character, int[]> positions = new HashMap<>();
+        Map<Character, int[]> filled = new HashMap<>();
+        for (Map.Entry<Character, int[]> entry : counts.entrySet()) {
+            positions.put(entry.getKey(), new int[entry.getValue()[0]]);
+            filled.put(entry.getKey(), new int[1]);
+        }
+        for (int i = 0; i < cells; i++) {
+            char c = grid.get(i);
+            if (isIndexed(c, markers)) {
+                positions.get(c)[filled.get(c)[0]++] = i;
+            }
+        }
+        return new ObjectIndex(grid.getCols(), positions);
+    }
+
+    private static boolean isIndexed(char c, String markers) {
+        return markers == null ? c != ' ' : markers.indexOf(c) >= 0;
+    }
+
+    /**
+     * Finds the first cell holding a marker.
+     * @param marker the marker to find
+     * @return the row-major cell index, or -1 if there is none
+     */
+    public int find(char marker) {
+        int[] cells = positions.get(marker);
+        return cells == null ? -1 : cells[0];
+    }
+
+    /**
+     * Finds the position of the first cell holding a marker.
+     * @param marker the marker to find
+     * @return an int array {row, col}, or {-1, -1} if not found
+     */
+    public int[] findPosition(char marker) {
+        int index = find(marker);
+        if (index < 0) {
+            return new int[]{-1, -1};
+        }
+        return new int[]{index / cols, index % cols};
+    }
+
+    /**
+     * Gets every cell holding a marker.
+     * @param marker the marker to find
+     * @return the row-major cell indices in ascending order; must not be modified
+     */
+    public int[] findAll(char marker) {
+        int[] cells = positions.get(marker);
+        return cells == null ? NONE : cells;
+    }
+
+    /**
+     * Counts the cells holding a marker.
+     * @param marker the marker to count
+     * @return the number of cells
+     */
+    public int count(char marker) {
+        return findAll(marker).length;
+    }
+
+    /**
+     * Gets the markers present in the index.
+     * @return an unmodifiable set of markers
+     */
+    public Set<Character> getMarkers() {
+        return Collections.unmodifiableSet(positions.keySet());
+    }
+
+    /**
+     * Gets the number of columns of the indexed grid, for converting cell indices.
+     * @return the column count
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Records that a cell changed from one object to another.
+     * Blank (' ') means no object.
+     * @param index the row-major cell index
+     * @param oldObject the object previously in the cell
+     * @param newObject the object now in the cell
+     */
+    public void update(int index, char oldObject, char newObject) {
+        if (oldObject == newObject) {
+            return;
+        }
+        if (oldObject != ' ') {
+            remove(oldObject, index);
+        }
+        if (newObject != ' ') {
+            add(newObject, index);
+        }
+    }
+
+    /**
+     * Creates a copy that can be updated without affecting this index.
+     * @return the copy
+     */
+    public ObjectIndex copy() {
+        return new ObjectIndex(cols, new HashMap<>(positions));
+    }
+
+    private void add(char marker, int index) {
+        int[] cells = findAll(marker);
+        int at = Arrays.binarySearch(cells, index);
+        if (at >= 0) {
+            return;
+        }
+        at = -at - 1;
+        int[] updated = new int[cells.length + 1];
+        System.arraycopy(cells, 0, updated, 0, at);
+        updated[at] = index;
+        System.arraycopy(cells, at, updated, at + 1, cells.length - at);
+        positions.put(marker, updated);
+    }
+
+    private void remove(char marker, int index) {
+        int[] cells = findAll(marker);
+        int at = Arrays.binarySearch(cells, index);
+        if (at < 0) {
+            return;
+        }
+        if (cells.length == 1) {
+            positions.remove(marker);
+            return;
+        }
+        int[] updated = new int[cells.length - 1];
+        System.arraycopy(cells, 0, updated, 0, at);
+        System.arraycopy(cells, at + 1, updated, at, cells.length - at - 1);
+        positions.put(marker, updated);
+    }
+}
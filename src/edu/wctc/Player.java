@@ -1,30 +1,83 @@
 package edu.wctc;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents the player in the maze game.
  * Tracks the player's score and inventory.
+ *
+ * The inventory is indexed by ItemRegistry ID: a bitset for unique items and a count
+ * per stackable item, so adding and checking items takes constant time and allocates
+ * nothing. The IDs are also kept in the order each item was first picked up, so the
+ * inventory is listed in that order. The inventory text is built only when it is
+ * displayed, and kept until the inventory next changes.
  */
 public class Player {
     private int score;
-    private List<String> inventory;
+    private long[] owned;       // Bit per unique item ID
+    private int[] counts;       // Count per stackable item ID
+    private int itemCount = 0;  // Total items carried, counting each in a stack
+    private int[] order;        // Distinct item IDs in the order first picked up
+    private int orderSize = 0;
+    private String inventoryText;
 
     /**
      * Constructs a Player with an initial score of 0 and empty inventory.
      */
     public Player() {
         this.score = 0;
-        this.inventory = new ArrayList<>();
+        int items = Math.max(1, ItemRegistry.size());
+        this.owned = new long[(items + 63) >>> 6];
+        this.counts = new int[items];
+        this.order = new int[items];
     }
 
     /**
-     * Adds an item to the player's inventory.
+     * Adds an item to the player's inventory. The inventory holds only the items in
+     * items.csv, so any other name is logged and ignored rather than failing the caller.
      * @param item the name of the item to add
      */
     public void addToInventory(String item) {
-        inventory.add(item);
+        Item registered = ItemRegistry.get(item);
+        if (registered == null) {
+            System.err.println("⚠ Ignoring unknown item: " + item);
+            return;
+        }
+        addToInventory(registered.id);
+    }
+
+    /**
+     * Adds an item to the player's inventory. A unique item already carried is not added again.
+     * @param id the ItemRegistry ID of the item to add
+     */
+    public void addToInventory(int id) {
+        boolean first = getItemCount(id) == 0;
+        if (ItemRegistry.get(id).stackable) {
+            if (id >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+            }
+            counts[id]++;
+        } else {
+            if ((id >>> 6) >= owned.length) {
+                owned = Arrays.copyOf(owned, Math.max((id >>> 6) + 1, owned.length * 2));
+            }
+            long bit = 1L << id;
+            if ((owned[id >>> 6] & bit) != 0) {
+                return;
+            }
+            owned[id >>> 6] |= bit;
+        }
+        if (first) {
+            if (orderSize == order.length) {
+                order = Arrays.copyOf(order, Math.max(1, order.length * 2));
+            }
+            order[orderSize++] = id;
+        }
+        itemCount++;
+        inventoryText = null;
     }
 
     /**
@@ -40,14 +93,22 @@ public class Player {
      * @return a string representation of the inventory, or a message if empty
      */
     public String getInventory() {
-        if (inventory.isEmpty()) {
-            return "Your inventory is empty.";
+        if (inventoryText != null) {
+            return inventoryText;
+        }
+        if (itemCount == 0) {
+            return inventoryText = "Your inventory is empty.";
         }
         StringBuilder sb = new StringBuilder("Inventory:\n");
-        for (int i = 0; i < inventory.size(); i++) {
-            sb.append("  ").append(i + 1).append(". ").append(inventory.get(i)).append("\n");
+        for (int i = 0; i < orderSize; i++) {
+            Item item = ItemRegistry.get(order[i]);
+            sb.append("  ").append(i + 1).append(". ").append(item.name);
+            if (item.stackable) {
+                sb.append(" x").append(getItemCount(item.id));
+            }
+            sb.append("\n");
         }
-        return sb.toString();
+        return inventoryText = sb.toString();
     }
 
     /**
@@ -58,13 +119,71 @@ public class Player {
         return score;
     }
 
+    /**
+     * Gets the items in the player's inventory, in the order first picked up, with a
+     * stackable item listed once per unit carried.
+     * @return an unmodifiable list of item names
+     */
+    public List<String> getItems() {
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < orderSize; i++) {
+            for (int n = getItemCount(order[i]); n > 0; n--) {
+                items.add(ItemRegistry.get(order[i]).name);
+            }
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Replaces the player's score and inventory, e.g. when restoring a saved game.
+     * @param score the score
+     * @param items the inventory items in the order picked up, a stackable item once per unit
+     * @throws IllegalArgumentException if an item is not in ItemRegistry; the player is left unchanged
+     */
+    public void restore(int score, List<String> items) {
+        int[] ids = new int[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ItemRegistry.id(items.get(i));
+        }
+        this.score = score;
+        Arrays.fill(owned, 0);
+        Arrays.fill(counts, 0);
+        itemCount = 0;
+        orderSize = 0;
+        inventoryText = null;
+        for (int id : ids) {
+            addToInventory(id);
+        }
+    }
+
     /**
      * Checks if the player has a specific item in their inventory.
      * @param item the name of the item to check for
      * @return true if the item is in the inventory, false otherwise
      */
     public boolean hasItem(String item) {
-        return inventory.contains(item);
+        Item registered = ItemRegistry.get(item);
+        return registered != null && hasItem(registered.id);
     }
-}
 
+    /**
+     * Checks if the player has a specific item in their inventory.
+     * @param id the ItemRegistry ID of the item to check for
+     * @return true if the item is in the inventory, false otherwise
+     */
+    public boolean hasItem(int id) {
+        return getItemCount(id) > 0;
+    }
+
+    /**
+     * Gets how many of an item the player carries.
+     * @param id the ItemRegistry ID of the item
+     * @return the count; 0 or 1 for a unique item
+     */
+    public int getItemCount(int id) {
+        if (id < counts.length && counts[id] > 0) {
+            return counts[id];
+        }
+        return (id >>> 6) < owned.length && (owned[id >>> 6] & (1L << id)) != 0 ? 1 : 0;
+    }
+}
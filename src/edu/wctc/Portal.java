@@ -0,0 +1,57 @@
+package edu.wctc;
+
+/**
+ * A door cell on a room's outer wall and the room it leads to.
+ * Portals are built when a room's maps are loaded (see Room.getPortal), so going
+ * through a door is a table lookup rather than a search of either room's layout.
+ *
+ * A door's slot is its position among the doors on its wall, counted along the wall.
+ * The player arrives beside the door with the same slot on the facing wall of the
+ * target room, so a wall can have any number of doors.
+ */
+public class Portal {
+    public final int doorRow;
+    public final int doorCol;
+    public final char direction;  // 'n', 's', 'e' or 'w': the wall the door is on
+    public final int slot;
+    public final Room target;
+
+    /**
+     * Constructs a Portal.
+     * @param doorRow the door's row
+     * @param doorCol the door's column
+     * @param direction the wall the door is on, which is also the direction of travel
+     * @param slot the door's position among the doors on its wall
+     * @param target the room the door leads to
+     */
+    public Portal(int doorRow, int doorCol, char direction, int slot, Room target) {
+        this.doorRow = doorRow;
+        this.doorCol = doorCol;
+        this.direction = direction;
+        this.slot = slot;
+        this.target = target;
+    }
+
+    /**
+     * Gets the wall of the target room the player arrives through.
+     * @return the opposite of this portal's direction
+     */
+    public char getArrivalWall() {
+        return opposite(direction);
+    }
+
+    /**
+     * Gets the opposite of a wall direction.
+     * @param direction 'n', 's', 'e' or 'w'
+     * @return the opposite direction, or ' ' for anything else
+     */
+    public static char opposite(char direction) {
+        return switch (direction) {
+            case 'n' -> 's';
+            case 's' -> 'n';
+            case 'e' -> 'w';
+            case 'w' -> 'e';
+            default -> ' ';
+        };
+    }
+}
@@ -1,11 +1,35 @@
 package edu.wctc;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 /**
  * Abstract base class for all rooms in the maze.
  * Manages room connections and provides methods for room interaction.
  * Supports loading room layouts from CSV files.
  */
 public abstract class Room {
+    // Streaming renderGrid: target characters per band, and the room size (in cells)
+    // from which bands are rendered in parallel
+    public static final int RENDER_BAND_CHARS = 1 << 16;
+    public static final long PARALLEL_RENDER_CELLS = 1 << 20;
+    // Object edits a view can catch up on cell by cell (see getObjectCellsEditedSince)
+    public static final int RECENT_EDITS = 16;
+
     private String name;
     private Room north;
     private Room south;
@@ -14,10 +38,44 @@ public abstract class Room {
     private Room up;
     private Room down;
 
-    // CSV grid data for room layout - public for GUI rendering
-    public char[][] layoutGrid;
-    public char[][] objectsGrid;
-    public char[][] collisionGrid;
+    // CSV grid data for room layout - public for GUI rendering.
+    // Grids may be shared with other sessions through RoomTemplateCache: read only,
+    // and change objects with setObjectAt.
+    public RoomGrid layoutGrid;
+    public RoomGrid objectsGrid;
+    public CollisionMask collisionMask;
+
+    // Copy-on-write for a shared objects layer: the template layer the objects
+    // started from, or null once this room owns its own copy
+    private RoomGrid sharedObjectsGrid;
+
+    // Sparse marker indexes: objects (kept in step with objectsGrid) and layout features
+    private ObjectIndex objectIndex;
+    private ObjectIndex layoutIndex;
+
+    // The template the layers came from, and its doors linked to this room's exits
+    // (row-major door cell -> portal); rebuilt when the maps or exits change
+    private RoomMaps maps;
+    private Map<Integer, Portal> portals = Collections.emptyMap();
+
+    // Where the maps come from, so they can be dropped and reloaded on demand
+    private String mapDir;
+    private boolean mapsLoadedOnce = false;
+    // Objects layer edits (row-major cell index -> object), replayed after a reload
+    private final Map<Integer, Character> objectEdits = new LinkedHashMap<>();
+    private int objectEditCount = 0;
+    // Cells of the last RECENT_EDITS edits, at index editCount % RECENT_EDITS, for views
+    private final int[] recentEditCells = new int[RECENT_EDITS];
+
+    // Cached renderGrid text: rebuilt in full when the layers are replaced, otherwise
+    // only rows marked dirty by object edits or player movement are redrawn. The String
+    // is made from the buffer only when renderGrid() asks for it
+    private char[] renderBuffer;
+    private String renderedText;
+    private RoomGrid renderedLayout;
+    private int renderedPlayerRow = -1;
+    private int renderedPlayerCol = -1;
+    private final BitSet dirtyRows = new BitSet();
 
     // Player position in the room
     public int playerRow;
@@ -26,6 +84,12 @@ public abstract class Room {
     // Track first-time entry for sensory descriptions
     private boolean hasBeenEntered = false;
 
+    // How the last interact, loot or exit went, set by the room and read once by Maze
+    public static final byte ACTION_DONE = 0;       // The action changed the game
+    public static final byte ACTION_NO_CHANGE = 1;  // Allowed, but nothing changed
+    public static final byte ACTION_REFUSED = 2;    // The room refused the action
+    private byte actionOutcome = ACTION_DONE;
+
     /**
      * Constructs a Room with a given name.
      * All directional connections are initially null.
@@ -41,7 +105,7 @@ public abstract class Room {
         this.down = null;
         this.layoutGrid = null;
         this.objectsGrid = null;
-        this.collisionGrid = null;
+        this.collisionMask = null;
         this.playerRow = -1;
         this.playerCol = -1;
         this.hasBeenEntered = false;
@@ -55,14 +119,262 @@ public abstract class Room {
      * @throws java.io.IOException if files cannot be read
      */
     public void loadMaps(String layoutPath, String objectsPath, String collisionPath) throws java.io.IOException {
-        this.layoutGrid = MapLoader.loadMap(layoutPath);
-        this.objectsGrid = MapLoader.loadMap(objectsPath);
-        this.collisionGrid = MapLoader.loadMap(collisionPath);
+        // Player starting position comes from the 'p' marker
+        useTemplate(new RoomMaps(
+                MapLoader.loadMapStreaming(layoutPath),
+                MapLoader.loadMapStreaming(objectsPath),
+                CollisionMask.fromGrid(MapLoader.loadMapStreaming(collisionPath))));
+        this.sharedObjectsGrid = null;
+    }
+
+    /**
+     * Loads all map layers for this room from a compiled room file.
+     * The spawn position is taken from the file rather than searched for.
+     * @param compiledPath path to the .room file produced by RoomMapCompiler
+     * @throws java.io.IOException if the file cannot be read
+     */
+    public void loadCompiledMaps(String compiledPath) throws java.io.IOException {
+        useTemplate(MapLoader.loadCompiledRoom(compiledPath));
+        this.sharedObjectsGrid = null;
+    }
+
+    /**
+     * Loads this room's maps from a map directory through the shared template cache,
+     * preferring an up-to-date compiled room file (e.g. maps/WeaponChamber.room) over the CSVs.
+     * @param mapDir path to the room's map directory, without a trailing slash
+     * @throws java.io.IOException if the files cannot be read
+     */
+    public synchronized void loadMapsFrom(String mapDir) throws java.io.IOException {
+        useTemplate(RoomTemplateCache.get(mapDir));
+        this.mapDir = mapDir;
+        this.mapsLoadedOnce = true;
+        this.objectEdits.clear();
+    }
+
+    /**
+     * Sets the map directory this room loads from lazily, without loading anything yet.
+     * Maps are loaded by {@link #ensureMapsLoaded()}.
+     * @param mapDir path to the room's map directory, without a trailing slash
+     */
+    public synchronized void setMapSource(String mapDir) {
+        this.mapDir = mapDir;
+    }
+
+    /**
+     * Checks whether this room's map layers are currently in memory.
+     * @return true if the maps are loaded
+     */
+    public synchronized boolean isMapsLoaded() {
+        return layoutGrid != null;
+    }
+
+    /**
+     * Loads this room's maps from its map source if they are not in memory.
+     * After an eviction the player position and any objects layer edits
+     * (such as a looted weapon) are restored, so reloading is invisible to the game.
+     * @throws java.io.IOException if the files cannot be read
+     */
+    public synchronized void ensureMapsLoaded() throws java.io.IOException {
+        if (layoutGrid != null || mapDir == null) {
+            return;
+        }
+
+        int savedRow = playerRow;
+        int savedCol = playerCol;
+        useTemplate(RoomTemplateCache.get(mapDir));
+        if (mapsLoadedOnce) {
+            playerRow = savedRow;
+            playerCol = savedCol;
+        }
+        mapsLoadedOnce = true;
+
+        for (Map.Entry<Integer, Character> edit : objectEdits.entrySet()) {
+            writeObject(edit.getKey() / objectsGrid.getCols(), edit.getKey() % objectsGrid.getCols(), edit.getValue());
+        }
+    }
+
+    /**
+     * Drops this room's map layers so they can be garbage collected.
+     * Only rooms with a map source can be unloaded; they reload on the next
+     * {@link #ensureMapsLoaded()}.
+     * @return true if the maps were unloaded
+     */
+    public synchronized boolean unloadMaps() {
+        if (mapDir == null || layoutGrid == null) {
+            return false;
+        }
+        this.layoutGrid = null;
+        this.objectsGrid = null;
+        this.collisionMask = null;
+        this.sharedObjectsGrid = null;
+        this.objectIndex = null;
+        this.layoutIndex = null;
+        this.maps = null;
+        this.portals = Collections.emptyMap();
+        this.renderBuffer = null;
+        this.renderedText = null;
+        this.renderedLayout = null;
+        return true;
+    }
+
+    /**
+     * Estimates the heap used by this room's loaded map layers.
+     * @return the estimated size in bytes, or 0 if the maps are not loaded
+     */
+    public synchronized long getMapBytes() {
+        if (layoutGrid == null) {
+            return 0;
+        }
+        return RoomMaps.estimateBytes(layoutGrid.getRows(), layoutGrid.getCols());
+    }
+
+    /**
+     * Points this room at shared, read-only map layers.
+     * The objects layer is copied on the first write to it.
+     * @param template the shared room maps
+     */
+    public void useTemplate(RoomMaps template) {
+        this.layoutGrid = template.layoutGrid;
+        this.objectsGrid = template.objectsGrid;
+        this.collisionMask = template.collisionMask;
+        this.sharedObjectsGrid = template.objectsGrid;
+        this.objectIndex = template.objectIndex;
+        this.layoutIndex = template.layoutIndex;
+        this.playerRow = template.spawnRow;
+        this.playerCol = template.spawnCol;
+        this.maps = template;
+        buildPortals();
+    }
+
+    /**
+     * Links each door on an outer wall to the room in that direction.
+     * Doors on a wall with no adjoining room get no portal.
+     */
+    private synchronized void buildPortals() {
+        if (maps == null) {
+            return;
+        }
+        Map<Integer, Portal> table = new HashMap<>();
+        for (int door : maps.layoutIndex.findAll('d')) {
+            char wall = maps.wallOf(door);
+            Room target = getAdjoiningRoom(wall);
+            if (target != null) {
+                int row = door / maps.getCols();
+                int col = door % maps.getCols();
+                table.put(door, new Portal(row, col, wall, maps.getDoorSlot(row, col), target));
+            }
+        }
+        this.portals = table;
+    }
+
+    /**
+     * Gets the portal for a door cell.
+     * @param row the door's row
+     * @param col the door's column
+     * @return the portal, or null if the cell is not a door leading to another room
+     */
+    public synchronized Portal getPortal(int row, int col) {
+        if (maps == null || !maps.layoutGrid.contains(row, col)) {
+            return null;
+        }
+        return portals.get(row * maps.getCols() + col);
+    }
+
+    /**
+     * Gets the cell a player arrives at when entering this room through a wall.
+     * Falls back to the spawn position if the wall has no door.
+     * @param wall the wall entered through, 'n', 's', 'e' or 'w'
+     * @param slot the slot of the door the player came through
+     * @return an int array {row, col}
+     */
+    public synchronized int[] getArrivalCell(char wall, int slot) {
+        int[] arrival = maps == null ? new int[]{-1, -1} : maps.getArrivalCell(wall, slot);
+        if (arrival[0] < 0 && maps != null) {
+            return new int[]{maps.spawnRow, maps.spawnCol};
+        }
+        return arrival;
+    }
+
+    /**
+     * Sets a cell of the objects layer, copying the layer first if it is still shared.
+     * @param row the row index
+     * @param col the column index
+     * @param object the object character, or ' ' to clear the cell
+     */
+    public synchronized void setObjectAt(int row, int col, char object) {
+        writeObject(row, col, object);
+        int cell = row * objectsGrid.getCols() + col;
+        objectEdits.put(cell, object);
+        recentEditCells[objectEditCount % RECENT_EDITS] = cell;
+        objectEditCount++;
+    }
+
+    /**
+     * Gets how many times setObjectAt has been called, so a view can tell when to redraw objects.
+     * @return the edit count
+     */
+    public synchronized int getObjectEditCount() {
+        return objectEditCount;
+    }
+
+    /**
+     * Gets the objects layer cells edited since a view last looked, without allocating.
+     * @param editCount the edit count the view last saw, from getObjectEditCount
+     * @param cells receives row-major cell indices (row * cols + col), oldest first;
+     *              at least RECENT_EDITS long
+     * @return how many cells were written, or -1 if more than RECENT_EDITS edits were made
+     *         since, in which case the view should redraw every object
+     */
+    public synchronized int getObjectCellsEditedSince(int editCount, int[] cells) {
+        int edits = objectEditCount - editCount;
+        if (edits < 0 || edits > RECENT_EDITS) {
+            return -1;
+        }
+        for (int i = 0; i < edits; i++) {
+            cells[i] = recentEditCells[(editCount + i) % RECENT_EDITS];
+        }
+        return edits;
+    }
+
+    /**
+     * Writes an objects layer cell, copying the layer out of the template if needed.
+     */
+    private void writeObject(int row, int col, char object) {
+        if (sharedObjectsGrid != null) {
+            objectsGrid = sharedObjectsGrid.copy();
+            objectIndex = objectIndex.copy();
+            sharedObjectsGrid = null;
+        }
+        objectIndex.update(row * objectsGrid.getCols() + col, objectsGrid.get(row, col), object);
+        objectsGrid.set(row, col, object);
+        markRowDirty(row);
+    }
+
+    /**
+     * Finds the first cell of the objects layer holding a marker, using the sparse index.
+     * @param marker the object marker, e.g. 'W' or 'p'
+     * @return an int array {row, col}, or {-1, -1} if not found or the maps are not loaded
+     */
+    public synchronized int[] findObject(char marker) {
+        return objectIndex == null ? new int[]{-1, -1} : objectIndex.findPosition(marker);
+    }
+
+    /**
+     * Finds every cell of the objects layer holding a marker, using the sparse index.
+     * @param marker the object marker
+     * @return row-major cell indices (row * cols + col) in ascending order; must not be modified
+     */
+    public synchronized int[] findObjects(char marker) {
+        return objectIndex == null ? new int[0] : objectIndex.findAll(marker);
+    }
 
-        // Find player starting position
-        int[] playerPos = MapLoader.findPosition(objectsGrid, 'p');
-        this.playerRow = playerPos[0];
-        this.playerCol = playerPos[1];
+    /**
+     * Finds every layout cell holding an indexed feature such as a door ('d').
+     * @param feature a character listed in RoomMaps.LAYOUT_FEATURES
+     * @return row-major cell indices (row * cols + col) in ascending order; must not be modified
+     */
+    public synchronized int[] findLayoutFeatures(char feature) {
+        return layoutIndex == null ? new int[0] : layoutIndex.findAll(feature);
     }
 
     /**
@@ -72,59 +384,268 @@ public abstract class Room {
      */
     public abstract String getDescription();
 
+    /**
+     * Writes the room description, as {@link #getDescription()} returns it, to an output.
+     * Rooms whose description contains the grid override this to write the grid from the
+     * render cache rather than building the description as a String.
+     * @param out where to write the description
+     * @throws IOException if writing fails
+     */
+    public void writeDescription(Appendable out) throws IOException {
+        out.append(getDescription());
+    }
+
     /**
      * Renders the room's grid for display.
      * Overlays objects on top of layout based on priority.
+     * The text is cached: only rows whose objects changed or that the player moved
+     * into or out of are redrawn, and the whole grid only when the layers are replaced.
+     * The String itself is built only when asked for after a change; callers that just
+     * write the grid out should use {@link #writeGrid(Appendable)}, which copies nothing.
      * @return formatted grid string
      */
-    protected String renderGrid() {
-        if (layoutGrid == null || layoutGrid.length == 0) {
+    protected synchronized String renderGrid() {
+        if (!updateRenderBuffer()) {
             return "[Map not loaded]";
         }
+        if (renderedText == null) {
+            renderedText = new String(renderBuffer);
+        }
+        return renderedText;
+    }
 
-        StringBuilder sb = new StringBuilder();
+    /**
+     * Writes the room's grid, with the same text as {@link #renderGrid()}, straight from
+     * the render cache: only rows changed since the last render are redrawn, and no String
+     * is built. The room is locked while writing, so use {@link #renderGrid(Appendable)}
+     * for slow outputs or very large rooms.
+     * @param out where to write the grid
+     * @throws IOException if writing fails
+     */
+    public synchronized void writeGrid(Appendable out) throws IOException {
+        if (!updateRenderBuffer()) {
+            out.append("[Map not loaded]");
+            return;
+        }
+        emit(out, renderBuffer, renderBuffer.length);
+    }
 
-        // Top border
-        sb.append("┌");
-        for (int i = 0; i < layoutGrid[0].length; i++) {
-            sb.append("──┬");
+    /**
+     * Brings the render buffer up to date, redrawing only dirty rows.
+     * @return false if there is no grid to render
+     */
+    private boolean updateRenderBuffer() {
+        if (layoutGrid == null || layoutGrid.getRows() == 0) {
+            return false;
         }
-        sb.setLength(sb.length() - 1);  // Remove last ┬
-        sb.append("┐\n");
 
-        // Grid rows
-        for (int i = 0; i < layoutGrid.length; i++) {
-            sb.append("│");
-            for (int j = 0; j < layoutGrid[i].length; j++) {
-                char cell;
+        if (renderBuffer == null || renderedLayout != layoutGrid) {
+            renderBorders();
+            dirtyRows.set(0, layoutGrid.getRows());
+        }
+        if (playerRow != renderedPlayerRow || playerCol != renderedPlayerCol) {
+            markRowDirty(renderedPlayerRow);
+            markRowDirty(playerRow);
+            renderedPlayerRow = playerRow;
+            renderedPlayerCol = playerCol;
+        }
 
-                // Show player sprite if at this position
-                if (i == playerRow && j == playerCol) {
-                    cell = '@';  // Player placeholder
-                }
-                // Show object if present and not empty
-                else if (j < objectsGrid[i].length && objectsGrid[i][j] != ' ') {
-                    cell = objectsGrid[i][j];
+        if (!dirtyRows.isEmpty()) {
+            for (int i = dirtyRows.nextSetBit(0); i >= 0; i = dirtyRows.nextSetBit(i + 1)) {
+                renderRow(i);
+            }
+            dirtyRows.clear();
+            renderedText = null;  // Rebuilt only if renderGrid() is called
+        }
+        return true;
+    }
+
+    /**
+     * Gets what a cell shows: the player, else an object, else the layout.
+     * @param row the row index
+     * @param col the column index
+     * @return the cell's display character, or ' ' if the maps are not loaded
+     */
+    public synchronized char getDisplayCell(int row, int col) {
+        if (layoutGrid == null) {
+            return ' ';
+        }
+        if (row == playerRow && col == playerCol) {
+            return '@';
+        }
+        if (objectsGrid.contains(row, col) && objectsGrid.get(row, col) != ' ') {
+            return objectsGrid.get(row, col);
+        }
+        return layoutGrid.get(row, col);
+    }
+
+    /**
+     * Writes the room's grid to an output in bands of rows, with the same text as
+     * {@link #renderGrid()} but without building or caching the whole grid, so memory
+     * is bounded by the band size rather than the room size. Grids of at least
+     * PARALLEL_RENDER_CELLS cells render their bands in parallel on the common fork-join
+     * pool, with at most one band per worker in flight, and emit them in order.
+     * An object edit made while rendering may or may not appear.
+     * @param out where to write the grid
+     * @throws IOException if writing fails
+     */
+    public void renderGrid(Appendable out) throws IOException {
+        RoomGrid layout;
+        RoomGrid objects;
+        int pRow;
+        int pCol;
+        synchronized (this) {
+            layout = layoutGrid;
+            objects = objectsGrid;
+            pRow = playerRow;
+            pCol = playerCol;
+        }
+        if (layout == null || layout.getRows() == 0) {
+            out.append("[Map not loaded]");
+            return;
+        }
+
+        int rows = layout.getRows();
+        int cols = layout.getCols();
+        int stride = 3 * cols + 2;
+        int bandRows = Math.max(1, RENDER_BAND_CHARS / stride);
+
+        char[] border = new char[stride];
+        drawBorder(border, 0, cols, '┌', '┬', '┐');
+        border[stride - 1] = '\n';
+        emit(out, border, stride);
+
+        if ((long) rows * cols < PARALLEL_RENDER_CELLS) {
+            char[] band = new char[Math.min(bandRows, rows) * stride];
+            for (int start = 0; start < rows; start += bandRows) {
+                int end = Math.min(start + bandRows, rows);
+                for (int i = start; i < end; i++) {
+                    renderRowInto(band, (i - start) * stride, layout, objects, pRow, pCol, i);
                 }
-                // Otherwise show layout
-                else {
-                    cell = layoutGrid[i][j];
+                emit(out, band, (end - start) * stride);
+            }
+        } else {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            int window = Math.max(1, pool.getParallelism());
+            ArrayDeque<ForkJoinTask<char[]>> inFlight = new ArrayDeque<>();
+            int next = 0;
+            while (next < rows || !inFlight.isEmpty()) {
+                while (next < rows && inFlight.size() < window) {
+                    int start = next;
+                    int end = Math.min(start + bandRows, rows);
+                    inFlight.add(pool.submit(() -> {
+                        char[] band = new char[(end - start) * stride];
+                        for (int i = start; i < end; i++) {
+                            renderRowInto(band, (i - start) * stride, layout, objects, pRow, pCol, i);
+                        }
+                        return band;
+                    }));
+                    next = end;
                 }
-
-                sb.append(" ").append(cell).append("│");
+                char[] band = inFlight.poll().join();
+                emit(out, band, band.length);
             }
-            sb.append("\n");
         }
 
-        // Bottom border
-        sb.append("└");
-        for (int i = 0; i < layoutGrid[0].length; i++) {
-            sb.append("──┴");
+        drawBorder(border, 0, cols, '└', '┴', '┘');
+        emit(out, border, stride - 1);
+    }
+
+    /**
+     * Writes the room's grid to a channel as UTF-8. The channel is left open.
+     * @param channel where to write the grid
+     * @throws IOException if writing fails
+     */
+    public void renderGrid(WritableByteChannel channel) throws IOException {
+        Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        renderGrid(writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes part of a char array, without an intermediate String when the output is a Writer.
+     */
+    private static void emit(Appendable out, char[] chars, int length) throws IOException {
+        if (out instanceof Writer) {
+            ((Writer) out).write(chars, 0, length);
+        } else {
+            out.append(CharBuffer.wrap(chars, 0, length));
+        }
+    }
+
+    /**
+     * Allocates the render buffer and draws the top and bottom borders.
+     * Every line is 3 * cols + 2 characters including its newline; the last has none.
+     */
+    private void renderBorders() {
+        int cols = layoutGrid.getCols();
+        int stride = 3 * cols + 2;
+        int rows = layoutGrid.getRows();
+        renderBuffer = new char[(rows + 2) * stride - 1];
+        renderedLayout = layoutGrid;
+
+        drawBorder(renderBuffer, 0, cols, '┌', '┬', '┐');
+        renderBuffer[stride - 1] = '\n';
+        drawBorder(renderBuffer, (rows + 1) * stride, cols, '└', '┴', '┘');
+    }
+
+    /**
+     * Draws a horizontal border line of 3 * cols + 1 characters, without a newline.
+     */
+    private static void drawBorder(char[] buf, int pos, int cols, char left, char joint, char right) {
+        buf[pos] = left;
+        for (int j = 0; j < cols; j++) {
+            buf[pos + 1 + 3 * j] = '─';
+            buf[pos + 2 + 3 * j] = '─';
+            buf[pos + 3 + 3 * j] = j == cols - 1 ? right : joint;
         }
-        sb.setLength(sb.length() - 1);  // Remove last ┴
-        sb.append("┘");
+    }
 
-        return sb.toString();
+    /**
+     * Redraws one grid row of the render buffer.
+     */
+    private void renderRow(int i) {
+        int pos = (i + 1) * (3 * layoutGrid.getCols() + 2);
+        renderRowInto(renderBuffer, pos, layoutGrid, objectsGrid, playerRow, playerCol, i);
+    }
+
+    /**
+     * Draws grid row i, including its newline, into a buffer at pos.
+     */
+    private static void renderRowInto(char[] buf, int pos, RoomGrid layout, RoomGrid objects,
+                                      int pRow, int pCol, int i) {
+        int cols = layout.getCols();
+        buf[pos++] = '│';
+        for (int j = 0; j < cols; j++) {
+            char cell;
+
+            // Show player sprite if at this position
+            if (i == pRow && j == pCol) {
+                cell = '@';  // Player placeholder
+            }
+            // Show object if present and not empty
+            else if (objects.contains(i, j) && objects.get(i, j) != ' ') {
+                cell = objects.get(i, j);
+            }
+            // Otherwise show layout
+            else {
+                cell = layout.get(i, j);
+            }
+
+            buf[pos++] = ' ';
+            buf[pos++] = cell;
+            buf[pos++] = '│';
+        }
+        buf[pos] = '\n';
+    }
+
+    /**
+     * Marks a row for redrawing on the next renderGrid, ignoring rows outside the grid.
+     */
+    private void markRowDirty(int row) {
+        if (layoutGrid != null && row >= 0 && row < layoutGrid.getRows()) {
+            dirtyRows.set(row);
+        }
     }
 
     /**
@@ -206,6 +727,7 @@ public abstract class Room {
      */
     public void setNorth(Room room) {
         this.north = room;
+        buildPortals();
     }
 
     /**
@@ -214,6 +736,7 @@ public abstract class Room {
      */
     public void setSouth(Room room) {
         this.south = room;
+        buildPortals();
     }
 
     /**
@@ -222,6 +745,7 @@ public abstract class Room {
      */
     public void setEast(Room room) {
         this.east = room;
+        buildPortals();
     }
 
     /**
@@ -230,6 +754,7 @@ public abstract class Room {
      */
     public void setWest(Room room) {
         this.west = room;
+        buildPortals();
     }
 
     /**
@@ -248,6 +773,99 @@ public abstract class Room {
         this.down = room;
     }
 
+    /**
+     * Writes this room's game state: whether it has been entered, the player position
+     * and the objects layer edits. Map layers are not written; they reload from the map source.
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    public synchronized void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(hasBeenEntered);
+        out.writeInt(playerRow);
+        out.writeInt(playerCol);
+        out.writeInt(objectEdits.size());
+        for (Map.Entry<Integer, Character> edit : objectEdits.entrySet()) {
+            out.writeInt(edit.getKey());
+            out.writeChar(edit.getValue());
+        }
+        writeRoomState(out);
+    }
+
+    /**
+     * Restores game state written by {@link #writeState(DataOutput)}.
+     * Loaded maps are dropped so the next load applies the restored edits to fresh layers.
+     * @param in where to read from
+     * @throws IOException if reading fails
+     */
+    public synchronized void readState(DataInput in) throws IOException {
+        hasBeenEntered = in.readBoolean();
+        int row = in.readInt();
+        int col = in.readInt();
+        objectEdits.clear();
+        int edits = in.readInt();
+        for (int i = 0; i < edits; i++) {
+            objectEdits.put(in.readInt(), in.readChar());
+        }
+        readRoomState(in);
+
+        if (unloadMaps()) {
+            mapsLoadedOnce = true;  // Keep the restored position when the maps reload
+        } else if (objectsGrid != null) {
+            for (Map.Entry<Integer, Character> edit : objectEdits.entrySet()) {
+                writeObject(edit.getKey() / objectsGrid.getCols(), edit.getKey() % objectsGrid.getCols(), edit.getValue());
+            }
+        }
+        playerRow = row;
+        playerCol = col;
+    }
+
+    /**
+     * Writes state specific to a kind of room. Does nothing by default.
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    protected void writeRoomState(DataOutput out) throws IOException {
+    }
+
+    /**
+     * Reads state written by {@link #writeRoomState(DataOutput)}. Does nothing by default.
+     * @param in where to read from
+     * @throws IOException if reading fails
+     */
+    protected void readRoomState(DataInput in) throws IOException {
+    }
+
+    /**
+     * Marks the current interact, loot or exit as refused, e.g. when there is nothing left to take.
+     * @param message the refusal text
+     * @return the message, so a room can write return refuse("...")
+     */
+    protected final String refuse(String message) {
+        actionOutcome = ACTION_REFUSED;
+        return message;
+    }
+
+    /**
+     * Marks the current interact, loot or exit as allowed but changing nothing.
+     * @param message the result text
+     * @return the message
+     */
+    protected final String noChange(String message) {
+        actionOutcome = ACTION_NO_CHANGE;
+        return message;
+    }
+
+    /**
+     * Gets how the last interact, loot or exit went and resets it to ACTION_DONE.
+     * An action that neither refused nor called noChange is ACTION_DONE.
+     * @return ACTION_DONE, ACTION_NO_CHANGE or ACTION_REFUSED
+     */
+    byte takeActionOutcome() {
+        byte outcome = actionOutcome;
+        actionOutcome = ACTION_DONE;
+        return outcome;
+    }
+
     /**
      * Checks if this is the player's first time entering the room.
      * @return true if this is the first entry, false otherwise
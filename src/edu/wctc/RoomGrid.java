@@ -0,0 +1,162 @@
+package edu.wctc;
+
+import java.util.Arrays;
+
+/**
+ * One map layer of a room, stored as a single flat byte array in row-major order.
+ * Each cell holds one Latin-1 character (map markers are plain ASCII), which halves
+ * the memory of a char grid and keeps a whole layer in one contiguous block.
+ */
+public class RoomGrid {
+    private final int rows;
+    private final int cols;
+    private final byte[] cells;
+
+    /**
+     * Constructs an empty grid with every cell set to ' '.
+     * @param rows the number of rows
+     * @param cols the number of columns
+     */
+    public RoomGrid(int rows, int cols) {
+        this(rows, cols, new byte[Math.multiplyExact(rows, cols)]);
+        Arrays.fill(cells, (byte) ' ');
+    }
+
+    /**
+     * Wraps existing row-major cell bytes without copying them.
+     */
+    RoomGrid(int rows, int cols, byte[] cells) {
+        if (rows < 0 || cols < 0 || cells.length != rows * cols) {
+            throw new IllegalArgumentException("Grid of " + rows + "x" + cols + " needs "
+                    + (long) rows * cols + " cells, got " + cells.length);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = cells;
+    }
+
+    /**
+     * Builds a grid from a 2D char array, padding short rows with ' '.
+     * @param grid the char grid
+     * @return a new RoomGrid with the same content
+     */
+    public static RoomGrid fromChars(char[][] grid) {
+        int width = 0;
+        for (char[] row : grid) {
+            width = Math.max(width, row.length);
+        }
+        RoomGrid result = new RoomGrid(grid.length, width);
+        for (int i = 0; i < grid.length; i++) {
+            for (int j = 0; j < grid[i].length; j++) {
+                result.set(i, j, grid[i][j]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of rows.
+     * @return the row count
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns.
+     * @return the column count
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the character at a cell.
+     * @param row the row index
+     * @param col the column index
+     * @return the character stored there
+     */
+    public char get(int row, int col) {
+        return (char) (cells[row * cols + col] & 0xFF);
+    }
+
+    /**
+     * Gets the character at a row-major cell index.
+     * @param index the cell index, row * cols + col
+     * @return the character stored there
+     */
+    public char get(int index) {
+        return (char) (cells[index] & 0xFF);
+    }
+
+    /**
+     * Checks whether a cell lies inside the grid.
+     * @param row the row index
+     * @param col the column index
+     * @return true if the cell is in bounds
+     */
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * Sets the character at a cell. Characters above 0xFF are stored as '?'.
+     * @param row the row index
+     * @param col the column index
+     * @param value the character to store
+     */
+    public void set(int row, int col, char value) {
+        cells[row * cols + col] = (byte) (value > 0xFF ? '?' : value);
+    }
+
+    /**
+     * Finds the first cell holding a character, scanning in row-major order.
+     * @param target the character to find
+     * @return the row-major cell index, or -1 if not found
+     */
+    public int indexOf(char target) {
+        if (target > 0xFF) {
+            return -1;
+        }
+        byte b = (byte) target;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates an independent copy of this grid.
+     * @return the copy
+     */
+    public RoomGrid copy() {
+        return new RoomGrid(rows, cols, cells.clone());
+    }
+
+    /**
+     * Estimates the heap used by this grid.
+     * @return the estimated size in bytes
+     */
+    public long getSizeInBytes() {
+        return estimateBytes(rows, cols);
+    }
+
+    /**
+     * Estimates the heap used by a rows x cols grid: object and array headers plus one byte per cell.
+     * @param rows the row count
+     * @param cols the column count
+     * @return the estimated size in bytes
+     */
+    public static long estimateBytes(int rows, int cols) {
+        return 24 + 16 + (long) rows * cols;
+    }
+
+    /**
+     * Gives direct access to the row-major cell bytes, for bulk file I/O.
+     */
+    byte[] cells() {
+        return cells;
+    }
+}
@@ -0,0 +1,82 @@
+package edu.wctc;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Offline tool that compiles each room directory under maps/ into a single binary .room file.
+ * A compiled room holds its dimensions, precomputed spawn position and all three layers
+ * as one byte per cell, so it can be memory-mapped at startup instead of parsed.
+ *
+ * Usage: java edu.wctc.RoomMapCompiler [mapsDir] [outputDir]
+ * Both default to src/edu/wctc/maps, producing e.g. maps/WeaponChamber.room.
+ */
+public class RoomMapCompiler {
+    public static final String ROOM_EXTENSION = ".room";
+
+    public static void main(String[] args) throws IOException {
+        File mapsDir = new File(args.length > 0 ? args[0] : "src/edu/wctc/maps");
+        File outputDir = new File(args.length > 1 ? args[1] : mapsDir.getPath());
+
+        File[] roomDirs = mapsDir.listFiles(File::isDirectory);
+        if (roomDirs == null) {
+            System.err.println("✗ Maps directory not found: " + mapsDir.getAbsolutePath());
+            System.exit(1);
+        }
+
+        outputDir.mkdirs();
+        for (File roomDir : roomDirs) {
+            if (!new File(roomDir, "layout.csv").exists()) {
+                continue;
+            }
+            File output = new File(outputDir, roomDir.getName() + ROOM_EXTENSION);
+            compileRoom(roomDir, output);
+            System.out.println("✓ " + roomDir.getName() + " -> " + output.getPath()
+                    + " (" + output.length() + " bytes)");
+        }
+    }
+
+    /**
+     * Compiles one room directory's layout, objects and collision CSVs into a .room file.
+     * @param roomDir the directory holding the room's CSV files
+     * @param output the compiled file to write
+     * @throws IOException if a CSV cannot be read or the layers differ in size
+     */
+    public static void compileRoom(File roomDir, File output) throws IOException {
+        RoomGrid layout = MapLoader.loadMapStreaming(new File(roomDir, "layout.csv").getPath());
+        RoomGrid objects = MapLoader.loadMapStreaming(new File(roomDir, "objects.csv").getPath());
+        RoomGrid collision = MapLoader.loadMapStreaming(new File(roomDir, "collision.csv").getPath());
+
+        int rows = layout.getRows();
+        int cols = layout.getCols();
+        int[] spawn = MapLoader.findPosition(objects, 'p');
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(MapLoader.ROOM_MAGIC);
+            out.writeShort(MapLoader.ROOM_VERSION);
+            out.writeInt(rows);
+            out.writeInt(cols);
+            out.writeInt(spawn[0]);
+            out.writeInt(spawn[1]);
+            writeLayer(out, layout, rows, cols, roomDir.getName() + "/layout.csv");
+            writeLayer(out, objects, rows, cols, roomDir.getName() + "/objects.csv");
+            writeLayer(out, collision, rows, cols, roomDir.getName() + "/collision.csv");
+        }
+    }
+
+    /**
+     * Writes a layer as rows x cols single-byte cells.
+     */
+    private static void writeLayer(DataOutputStream out, RoomGrid grid, int rows, int cols, String name)
+            throws IOException {
+        if (grid.getRows() != rows || grid.getCols() != cols) {
+            throw new IOException(name + " is " + grid.getRows() + "x" + grid.getCols()
+                    + " but the layout is " + rows + "x" + cols);
+        }
+        out.write(grid.cells());
+    }
+}
@@ -0,0 +1,195 @@
+package edu.wctc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The three map layers of a room plus its player spawn position.
+ * Produced by MapLoader from either CSV files or a compiled room file.
+ * Sparse indexes of the objects layer and of layout features, and the table of
+ * doors on each outer wall, are built once here.
+ */
+public class RoomMaps {
+    // Layout characters worth indexing; walls and floors fill the grid and are not
+    public static final String LAYOUT_FEATURES = "d";
+    // Outer walls, in the order of wallDoors
+    private static final String WALLS = "nswe";
+
+    public final RoomGrid layoutGrid;
+    public final RoomGrid objectsGrid;
+    public final CollisionMask collisionMask;
+    public final ObjectIndex objectIndex;
+    public final ObjectIndex layoutIndex;
+    public final int spawnRow;
+    public final int spawnCol;
+
+    // Door cells on each outer wall, ordered along the wall, and each door's slot on its wall
+    private final int[][] wallDoors = new int[WALLS.length()][];
+    private final Map<Integer, Integer> doorSlots = new HashMap<>();
+
+    /**
+     * Constructs a RoomMaps from already loaded layers.
+     * @param layoutGrid the terrain layer
+     * @param objectsGrid the objects layer
+     * @param collisionMask the compiled collision layer
+     * @param spawnRow the player spawn row, or -1 if there is none
+     * @param spawnCol the player spawn column, or -1 if there is none
+     */
+    public RoomMaps(RoomGrid layoutGrid, RoomGrid objectsGrid, CollisionMask collisionMask,
+                    int spawnRow, int spawnCol) {
+        this.layoutGrid = layoutGrid;
+        this.objectsGrid = objectsGrid;
+        this.collisionMask = collisionMask;
+        this.objectIndex = ObjectIndex.build(objectsGrid);
+        this.layoutIndex = ObjectIndex.build(layoutGrid, LAYOUT_FEATURES);
+        this.spawnRow = spawnRow;
+        this.spawnCol = spawnCol;
+        buildDoorTable();
+    }
+
+    /**
+     * Constructs a RoomMaps whose spawn position is the objects layer's 'p' marker.
+     * @param layoutGrid the terrain layer
+     * @param objectsGrid the objects layer
+     * @param collisionMask the compiled collision layer
+     */
+    public RoomMaps(RoomGrid layoutGrid, RoomGrid objectsGrid, CollisionMask collisionMask) {
+        this.layoutGrid = layoutGrid;
+        this.objectsGrid = objectsGrid;
+        this.collisionMask = collisionMask;
+        this.objectIndex = ObjectIndex.build(objectsGrid);
+        this.layoutIndex = ObjectIndex.build(layoutGrid, LAYOUT_FEATURES);
+        int[] spawn = objectIndex.findPosition('p');
+        this.spawnRow = spawn[0];
+        this.spawnCol = spawn[1];
+        buildDoorTable();
+    }
+
+    /**
+     * Sorts the layout's door cells onto the outer walls. Doors come out of the index in
+     * row-major order, which is already ordered along every wall. Doors inside the room
+     * are on no wall and get no slot.
+     */
+    private void buildDoorTable() {
+        int[] doors = layoutIndex.findAll('d');
+        int[] counts = new int[WALLS.length()];
+        for (int door : doors) {
+            int wall = WALLS.indexOf(wallOf(door));
+            if (wall >= 0) {
+                counts[wall]++;
+            }
+        }
+        for (int w = 0; w < wallDoors.length; w++) {
+            wallDoors[w] = new int[counts[w]];
+            counts[w] = 0;
+        }
+        for (int door : doors) {
+            int wall = WALLS.indexOf(wallOf(door));
+            if (wall >= 0) {
+                wallDoors[wall][counts[wall]] = door;
+                doorSlots.put(door, counts[wall]++);
+            }
+        }
+    }
+
+    /**
+     * Gets the outer wall a cell lies on. Corner cells count as the west or east wall.
+     * @param cell the row-major cell index
+     * @return 'n', 's', 'e' or 'w', or ' ' for a cell inside the room
+     */
+    public char wallOf(int cell) {
+        int row = cell / getCols();
+        int col = cell % getCols();
+        if (col == 0) {
+            return 'w';
+        } else if (col == getCols() - 1) {
+            return 'e';
+        } else if (row == 0) {
+            return 'n';
+        } else if (row == getRows() - 1) {
+            return 's';
+        }
+        return ' ';
+    }
+
+    /**
+     * Gets a door's slot, its position among the doors on its wall.
+     * @param row the door's row
+     * @param col the door's column
+     * @return the slot, or -1 if the cell is not a door on an outer wall
+     */
+    public int getDoorSlot(int row, int col) {
+        if (!layoutGrid.contains(row, col)) {
+            return -1;
+        }
+        Integer slot = doorSlots.get(row * getCols() + col);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Gets the door cells on an outer wall, ordered along the wall.
+     * @param wall 'n', 's', 'e' or 'w'
+     * @return row-major cell indices; must not be modified
+     */
+    public int[] getWallDoors(char wall) {
+        int w = WALLS.indexOf(wall);
+        return w < 0 ? new int[0] : wallDoors[w];
+    }
+
+    /**
+     * Gets the cell a player arrives at when entering through a wall: one step inside
+     * the door with the given slot. A slot past the wall's last door uses its last door.
+     * @param wall 'n', 's', 'e' or 'w'
+     * @param slot the slot of the door the player came through
+     * @return an int array {row, col}, or {-1, -1} if the wall has no doors
+     */
+    public int[] getArrivalCell(char wall, int slot) {
+        int[] doors = getWallDoors(wall);
+        if (doors.length == 0) {
+            return new int[]{-1, -1};
+        }
+        int door = doors[Math.min(Math.max(slot, 0), doors.length - 1)];
+        int row = door / getCols();
+        int col = door % getCols();
+        return switch (wall) {
+            case 'n' -> new int[]{row + 1, col};
+            case 's' -> new int[]{row - 1, col};
+            case 'w' -> new int[]{row, col + 1};
+            default -> new int[]{row, col - 1};
+        };
+    }
+
+    /**
+     * Gets the number of rows in the room.
+     * @return the row count
+     */
+    public int getRows() {
+        return layoutGrid.getRows();
+    }
+
+    /**
+     * Gets the number of columns in the room.
+     * @return the column count, or 0 for an empty room
+     */
+    public int getCols() {
+        return layoutGrid.getCols();
+    }
+
+    /**
+     * Estimates the heap used by these three layers.
+     * @return the estimated size in bytes
+     */
+    public long getSizeInBytes() {
+        return estimateBytes(getRows(), getCols());
+    }
+
+    /**
+     * Estimates the heap used by the layout and objects layers plus the collision mask.
+     * @param rows the row count
+     * @param cols the column count
+     * @return the estimated size in bytes
+     */
+    public static long estimateBytes(int rows, int cols) {
+        return 2 * RoomGrid.estimateBytes(rows, cols) + CollisionMask.estimateBytes(rows, cols);
+    }
+}
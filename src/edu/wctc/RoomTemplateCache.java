@@ -0,0 +1,218 @@
+package edu.wctc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Process-wide cache of parsed room maps shared by every Maze session.
+ * Entries are keyed by map path and a CRC32 of the file contents, so sessions
+ * created after a map is edited get the new layers while older sessions keep theirs.
+ * Cached grids are shared and must never be written; rooms copy on write instead
+ * (see Room.setObjectAt).
+ *
+ * To avoid reading and hashing the files for every session, each map directory also
+ * remembers the size and modification time of its files when it was last read. A lookup
+ * within -Dmaze.templateCheckMillis (default 1000) of the last check uses the template
+ * as is; after that it stats the files, and only if their stamp changed are they read
+ * and checksummed again. Unchanged content then still finds its cached template.
+ *
+ * The cache is a least-recently-used map bounded by the estimated size of its grids,
+ * set with -Dmaze.templateCacheBytes (default 64 MB). Evicting a template only drops
+ * the cache's reference; rooms still using it keep it alive.
+ */
+public class RoomTemplateCache {
+    private static final Map<String, RoomMaps> TEMPLATES = new LinkedHashMap<>(16, 0.75f, true);
+    // Map directory -> file stamps when last read, and the template key they gave
+    private static final Map<String, Stamp> STAMPS = new HashMap<>();
+    private static final long CHECK_MILLIS = Long.getLong("maze.templateCheckMillis", 1000L);
+    private static long maxBytes = Long.getLong("maze.templateCacheBytes", 64L << 20);
+    private static long cachedBytes = 0;
+
+    private RoomTemplateCache() {
+    }
+
+    /**
+     * The size and modification time of a room's files, and the key they were cached under.
+     */
+    private static class Stamp {
+        final long[] files;
+        final String key;
+        long checkedAt;  // When the files last matched, guarded by the class
+
+        Stamp(long[] files, String key, long checkedAt) {
+            this.files = files;
+            this.key = key;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    /**
+     * Gets the shared maps for a room directory, parsing them only on first use.
+     * An up-to-date compiled .room file is preferred over the CSVs.
+     *
+     * @param mapDir path to the room's map directory, without a trailing slash
+     * @return the shared, read-only room maps
+     * @throws IOException if the files cannot be read
+     */
+    public static RoomMaps get(String mapDir) throws IOException {
+        String layoutPath = mapDir + "/layout.csv";
+        String objectsPath = mapDir + "/objects.csv";
+        String collisionPath = mapDir + "/collision.csv";
+        String compiledPath = mapDir + RoomMapCompiler.ROOM_EXTENSION;
+
+        // Checked recently, or unchanged files since the last read: no need to read or checksum them
+        long now = System.currentTimeMillis();
+        RoomMaps fresh = lookupStamped(mapDir, null, now);
+        if (fresh != null) {
+            return fresh;
+        }
+        long[] files = stamp(layoutPath, objectsPath, collisionPath, compiledPath);
+        fresh = lookupStamped(mapDir, files, now);
+        if (fresh != null) {
+            return fresh;
+        }
+
+        String key;
+        RoomMaps template;
+        if (MapLoader.isCompiledRoomCurrent(compiledPath, layoutPath, objectsPath, collisionPath)) {
+            ByteBuffer compiled = MapLoader.readFile(compiledPath);
+            key = compiledPath + "#" + checksum(compiled);
+            template = lookup(key);
+            if (template == null) {
+                template = store(key, MapLoader.parseCompiledRoom(compiled, compiledPath));
+            }
+        } else {
+            ByteBuffer layout = MapLoader.readFile(layoutPath);
+            ByteBuffer objects = MapLoader.readFile(objectsPath);
+            ByteBuffer collision = MapLoader.readFile(collisionPath);
+            key = mapDir + "#" + checksum(layout, objects, collision);
+            template = lookup(key);
+            if (template == null) {
+                template = store(key, new RoomMaps(MapLoader.parseGrid(layout), MapLoader.parseGrid(objects),
+                        CollisionMask.fromGrid(MapLoader.parseGrid(collision))));
+            }
+        }
+        remember(mapDir, new Stamp(files, key, now));
+        return template;
+    }
+
+    /**
+     * Removes every cached template. Sessions already holding templates keep them.
+     */
+    public static synchronized void clear() {
+        TEMPLATES.clear();
+        STAMPS.clear();
+        cachedBytes = 0;
+    }
+
+    /**
+     * Gets the number of cached templates.
+     * @return the cache size
+     */
+    public static synchronized int size() {
+        return TEMPLATES.size();
+    }
+
+    /**
+     * Gets the estimated size of all cached grids.
+     * @return the cached size in bytes
+     */
+    public static synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Sets the cache's size bound, evicting templates if it is now exceeded.
+     * @param bytes the maximum estimated size of cached grids
+     */
+    public static synchronized void setMaxBytes(long bytes) {
+        maxBytes = bytes;
+        evict();
+    }
+
+    private static synchronized RoomMaps lookup(String key) {
+        return TEMPLATES.get(key);
+    }
+
+    /**
+     * Gets a directory's cached template if it is still current.
+     * @param files the files' stamp now, or null to accept only a check within CHECK_MILLIS
+     * @return the template, or null if the files changed or the template was evicted
+     */
+    private static synchronized RoomMaps lookupStamped(String mapDir, long[] files, long now) {
+        Stamp stamp = STAMPS.get(mapDir);
+        if (stamp == null) {
+            return null;
+        }
+        if (files == null ? now - stamp.checkedAt >= CHECK_MILLIS : !Arrays.equals(stamp.files, files)) {
+            return null;
+        }
+        RoomMaps template = TEMPLATES.get(stamp.key);
+        if (template != null && files != null) {
+            stamp.checkedAt = Math.max(stamp.checkedAt, now);
+        }
+        return template;
+    }
+
+    private static synchronized void remember(String mapDir, Stamp stamp) {
+        STAMPS.put(mapDir, stamp);
+    }
+
+    /**
+     * Gets the size and modification time of each file, -1 for a missing file.
+     */
+    private static long[] stamp(String... paths) {
+        long[] files = new long[paths.length * 2];
+        for (int i = 0; i < paths.length; i++) {
+            File file = MapLoader.findFile(paths[i]);
+            files[2 * i] = file == null ? -1 : file.length();
+            files[2 * i + 1] = file == null ? -1 : file.lastModified();
+        }
+        return files;
+    }
+
+    /**
+     * Adds a parsed template unless another thread cached the same key first.
+     * @return the template now cached under the key
+     */
+    private static synchronized RoomMaps store(String key, RoomMaps template) {
+        RoomMaps existing = TEMPLATES.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        TEMPLATES.put(key, template);
+        cachedBytes += template.getSizeInBytes();
+        evict();
+        return template;
+    }
+
+    /**
+     * Drops least recently used templates until the cache fits its bound.
+     * The newest template is always kept.
+     */
+    private static void evict() {
+        Iterator<RoomMaps> it = TEMPLATES.values().iterator();
+        while (cachedBytes > maxBytes && TEMPLATES.size() > 1 && it.hasNext()) {
+            cachedBytes -= it.next().getSizeInBytes();
+            it.remove();
+        }
+    }
+
+    /**
+     * Computes a CRC32 over the remaining bytes of each buffer without moving their positions.
+     */
+    private static String checksum(ByteBuffer... buffers) {
+        CRC32 crc = new CRC32();
+        for (ByteBuffer buffer : buffers) {
+            crc.update(buffer.duplicate());
+        }
+        return Long.toHexString(crc.getValue());
+    }
+}
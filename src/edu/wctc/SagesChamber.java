@@ -1,5 +1,9 @@
 package edu.wctc;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * A room containing a wise sage who provides knowledge about the upcoming boss.
  * The player can interact with the sage multiple times, each interaction providing
@@ -7,14 +11,73 @@ package edu.wctc;
  * Implements Interactable interface.
  */
 public class SagesChamber extends Room implements Interactable {
-    private int interactionCount = 0;
-    private final String[] dialogues = {
+    // Fixed narrative text, registered so remote clients can cache it by ID
+    private static final String SENSORY_DESCRIPTION =
+            "╔════════════════════════════════════════╗\n" +
+            "║      YOU ENTER THE SAGE'S CHAMBER    ║\n" +
+            "╚════════════════════════════════════════╝\n\n" +
+            "YOUR SECOND OBJECTIVE\n" +
+            "You have obtained a weapon, but weaponry alone will not be enough.\n" +
+            "The creature is ancient and powerful beyond measure. You must seek\n" +
+            "knowledge if you hope to find its weakness. An old sage dwells in this\n" +
+            "place, said to possess wisdom that spans millennia. Every word they\n" +
+            "speak could be the difference between victory and death.\n\n" +
+            "THE LIBRARY\n" +
+            "The moment you step through the doorway, the air transforms.\n" +
+            "The oppressive coldness of the stone corridors yields to a warm,\n" +
+            "almost inviting atmosphere. The scent of ancient paper and herbs\n" +
+            "fills your lungs—sage, lavender, and something you cannot quite place.\n\n" +
+            "Your eyes adjust to softer lighting. Countless candles flicker\n" +
+            "throughout the chamber, casting dancing shadows across towering shelves\n" +
+            "laden with books, scrolls, and artifacts of immense age.\n\n" +
+            "In the center of the chamber, a robed figure sits in perfect stillness\n" +
+            "upon a stone bench. Their presence radiates calm—an island of serenity\n" +
+            "in a sea of chaos. Ancient eyes open slowly as they sense your presence.\n" +
+            "You sense that this being possesses knowledge that may prove crucial\n" +
+            "to your survival. They motion for you to speak with them.\n";
+    private static final String SHORT_DESCRIPTION =
+            "The library is vast and filled with ancient knowledge, " +
+            "though the sage sits in silent meditation.";
+    private static final String SILENT =
+            "\n✗ The sage meditates silently. You've learned all they have to teach.";
+
+    // The room description around its grid, which is written from the render cache
+    private static final String DESCRIPTION_HEADER =
+            "═══════════════════════════════════════\n" +
+            "     SAGE'S CHAMBER - Ancient Library\n" +
+            "═══════════════════════════════════════\n\n" +
+            "An ancient library filled with dusty scrolls and crumbling tomes.\n" +
+            "The walls are lined with shelves carved from dark wood, their\n" +
+            "contents spanning centuries of accumulated knowledge.\n\n" +
+            "In the center sits a robed figure on a stone bench, eyes closed\n" +
+            "in deep meditation. The figure's presence radiates calm wisdom\n" +
+            "and an aura of serene knowledge.\n\n" +
+            "Room Layout:\n";
+    private static final String DESCRIPTION_FOOTER =
+            "\n" +
+            "═══════════════════════════════════════\n" +
+            "Legend: w=wall, f=floor, n=NPC sage, p=player, d=door, @=you";
+
+    private static final String[] DIALOGUES = {
         "The creature ahead feeds on fear. Knowledge is your shield. Take time to prepare yourself mentally.",
 
         "I sense a weakness... its left flank is vulnerable. Strike there with conviction when the moment comes.",
 
         "You are as prepared as you can be. Go now, and reclaim your kingdom. May fortune favor the brave."
     };
+    private static final String[] SPEECHES = new String[DIALOGUES.length];
+
+    static {
+        for (int i = 0; i < DIALOGUES.length; i++) {
+            SPEECHES[i] = "\n📜 Sage speaks:\n" +
+                          "  \"" + DIALOGUES[i] + "\"\n" +
+                          "  You gain 25 points.";
+        }
+        NarrativeRegistry.register(SENSORY_DESCRIPTION, SHORT_DESCRIPTION, SILENT);
+        NarrativeRegistry.register(SPEECHES);
+    }
+
+    private int interactionCount = 0;
 
     /**
      * Constructs a SagesChamber with the given name.
@@ -26,65 +89,46 @@ public class SagesChamber extends Room implements Interactable {
 
     @Override
     public String getSensoryDescription() {
-        return "╔════════════════════════════════════════╗\n" +
-               "║      YOU ENTER THE SAGE'S CHAMBER    ║\n" +
-               "╚════════════════════════════════════════╝\n\n" +
-               "YOUR SECOND OBJECTIVE\n" +
-               "You have obtained a weapon, but weaponry alone will not be enough.\n" +
-               "The creature is ancient and powerful beyond measure. You must seek\n" +
-               "knowledge if you hope to find its weakness. An old sage dwells in this\n" +
-               "place, said to possess wisdom that spans millennia. Every word they\n" +
-               "speak could be the difference between victory and death.\n\n" +
-               "THE LIBRARY\n" +
-               "The moment you step through the doorway, the air transforms.\n" +
-               "The oppressive coldness of the stone corridors yields to a warm,\n" +
-               "almost inviting atmosphere. The scent of ancient paper and herbs\n" +
-               "fills your lungs—sage, lavender, and something you cannot quite place.\n\n" +
-               "Your eyes adjust to softer lighting. Countless candles flicker\n" +
-               "throughout the chamber, casting dancing shadows across towering shelves\n" +
-               "laden with books, scrolls, and artifacts of immense age.\n\n" +
-               "In the center of the chamber, a robed figure sits in perfect stillness\n" +
-               "upon a stone bench. Their presence radiates calm—an island of serenity\n" +
-               "in a sea of chaos. Ancient eyes open slowly as they sense your presence.\n" +
-               "You sense that this being possesses knowledge that may prove crucial\n" +
-               "to your survival. They motion for you to speak with them.\n";
+        return SENSORY_DESCRIPTION;
     }
 
     @Override
     public String getShortRoomDescription() {
-        return "The library is vast and filled with ancient knowledge, " +
-               "though the sage sits in silent meditation.";
+        return SHORT_DESCRIPTION;
     }
 
     @Override
     public String getDescription() {
         String grid = layoutGrid != null ? renderGrid() : "[Map not loaded]";
-        return "═══════════════════════════════════════\n" +
-               "     SAGE'S CHAMBER - Ancient Library\n" +
-               "═══════════════════════════════════════\n\n" +
-               "An ancient library filled with dusty scrolls and crumbling tomes.\n" +
-               "The walls are lined with shelves carved from dark wood, their\n" +
-               "contents spanning centuries of accumulated knowledge.\n\n" +
-               "In the center sits a robed figure on a stone bench, eyes closed\n" +
-               "in deep meditation. The figure's presence radiates calm wisdom\n" +
-               "and an aura of serene knowledge.\n\n" +
-               "Room Layout:\n" +
-               grid + "\n" +
-               "═══════════════════════════════════════\n" +
-               "Legend: w=wall, f=floor, n=NPC sage, p=player, d=door, @=you";
+        return DESCRIPTION_HEADER + grid + DESCRIPTION_FOOTER;
+    }
+
+    @Override
+    public void writeDescription(Appendable out) throws IOException {
+        out.append(DESCRIPTION_HEADER);
+        writeGrid(out);
+        out.append(DESCRIPTION_FOOTER);
     }
 
     @Override
     public String interact(Player player) {
-        if (interactionCount < dialogues.length) {
-            String dialogue = dialogues[interactionCount];
+        if (interactionCount < SPEECHES.length) {
+            String speech = SPEECHES[interactionCount];
             interactionCount++;
             player.addToScore(25);
-            return "\n📜 Sage speaks:\n" +
-                   "  \"" + dialogue + "\"\n" +
-                   "  You gain 25 points.";
+            return speech;
         }
-        return "\n✗ The sage meditates silently. You've learned all they have to teach.";
+        return refuse(SILENT);
+    }
+
+    @Override
+    protected void writeRoomState(DataOutput out) throws IOException {
+        out.writeInt(interactionCount);
+    }
+
+    @Override
+    protected void readRoomState(DataInput in) throws IOException {
+        interactionCount = in.readInt();
     }
 
     /**
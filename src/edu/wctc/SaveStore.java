@@ -0,0 +1,309 @@
+package edu.wctc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Saved games for many players in one memory-mapped file.
+ * The file is a header followed by fixed-size slots, one per player:
+ * key length (short), player id (up to MAX_KEY_BYTES of UTF-8), generation (long),
+ * save length (int), CRC32 of the save (int), then the save itself (see Maze.save).
+ * An in-memory index from player id to slot, rebuilt by scanning the slots on open,
+ * gives random access to any player's save. The file doubles in size when full, up to
+ * the MAX_SLOTS a single mapping can hold.
+ *
+ * A save never overwrites the one it replaces: it goes into a free slot, which is
+ * published by writing its key length last, and only then is the old slot freed. If a
+ * crash leaves both slots published, the higher generation wins when the store opens,
+ * and a slot whose key length, save length or checksum is bad is freed for reuse.
+ */
+public class SaveStore implements Closeable {
+    public static final int SLOT_SIZE = 1024;
+    public static final int MAX_KEY_BYTES = 64;
+    public static final int MAX_SAVE_BYTES = SLOT_SIZE - 2 - MAX_KEY_BYTES - 8 - 4 - 4;
+
+    private static final int STORE_MAGIC = 0x4D415A49;  // "MAZI"
+    private static final short STORE_VERSION = 2;
+    static final int HEADER_SIZE = 4 + 2 + 4;           // magic, version, slot size
+    private static final int INITIAL_SLOTS = 64;
+    private static final int MAX_SLOTS = (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE;
+
+    // Field offsets within a slot
+    private static final int GENERATION = 2 + MAX_KEY_BYTES;
+    private static final int LENGTH = GENERATION + 8;
+    private static final int CHECKSUM = LENGTH + 4;
+    private static final int DATA = CHECKSUM + 4;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int slotCount;
+    private final Map<String, Integer> index = new HashMap<>();
+    private int nextFreeSlot = 0;
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private long nextGeneration = 1;
+
+    private SaveStore(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a save store, creating the file if it does not exist.
+     * @param file the store file
+     * @return the open store
+     * @throws IOException if the file cannot be opened or is not a save store
+     */
+    public static SaveStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        SaveStore store = new SaveStore(channel);
+        try {
+            if (channel.size() == 0) {
+                store.map(INITIAL_SLOTS);
+                store.map.putInt(0, STORE_MAGIC);
+                store.map.putShort(4, STORE_VERSION);
+                store.map.putInt(6, SLOT_SIZE);
+            } else {
+                store.map((int) ((channel.size() - HEADER_SIZE) / SLOT_SIZE));
+                if (store.map.getInt(0) != STORE_MAGIC || store.map.getShort(4) != STORE_VERSION
+                        || store.map.getInt(6) != SLOT_SIZE) {
+                    throw new IOException("Not a version " + STORE_VERSION + " save store: " + file);
+                }
+                store.buildIndex();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Saves a player's game, replacing any earlier save.
+     * @param playerId the player's id
+     * @param maze the player's session
+     * @throws IOException if the id or save is too large for a slot
+     */
+    public void save(String playerId, Maze maze) throws IOException {
+        put(playerId, maze.save());
+    }
+
+    /**
+     * Restores a player's saved game into a session.
+     * @param playerId the player's id
+     * @param maze the session to restore into
+     * @return true if the player had a save, false if the session was left unchanged
+     * @throws IOException if the save is corrupt or in an unsupported format
+     */
+    public boolean load(String playerId, Maze maze) throws IOException {
+        byte[] saved = get(playerId);
+        if (saved == null) {
+            return false;
+        }
+        maze.restore(saved);
+        return true;
+    }
+
+    /**
+     * Stores raw save bytes for a player. The player's earlier save stays intact until
+     * the new one is complete.
+     * @param playerId the player's id
+     * @param saved the save bytes
+     * @throws IOException if the id or save is too large for a slot, or the store is full
+     */
+    public synchronized void put(String playerId, byte[] saved) throws IOException {
+        byte[] key = playerId.getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0 || key.length > MAX_KEY_BYTES) {
+            throw new IOException("Player id must be 1 to " + MAX_KEY_BYTES + " bytes: " + playerId);
+        }
+        if (saved.length > MAX_SAVE_BYTES) {
+            throw new IOException("Save of " + saved.length + " bytes exceeds the slot limit of " + MAX_SAVE_BYTES);
+        }
+
+        int slot = allocateSlot();
+        int base = slotOffset(slot);
+
+        // Write the save before the key length, so a crash mid-write leaves the old save in place
+        map.put(base + 2, key);
+        map.putLong(base + GENERATION, nextGeneration++);
+        map.putInt(base + LENGTH, saved.length);
+        map.putInt(base + CHECKSUM, crc(saved));
+        map.put(base + DATA, saved);
+        map.putShort(base, (short) key.length);
+
+        Integer old = index.put(playerId, slot);
+        if (old != null) {
+            freeSlot(old);
+        }
+    }
+
+    /**
+     * Gets a player's raw save bytes.
+     * @param playerId the player's id
+     * @return the save, or null if the player has none
+     * @throws IOException if the save fails its checksum
+     */
+    public synchronized byte[] get(String playerId) throws IOException {
+        Integer slot = index.get(playerId);
+        if (slot == null) {
+            return null;
+        }
+        int base = slotOffset(slot);
+        byte[] saved = new byte[map.getInt(base + LENGTH)];
+        map.get(base + DATA, saved);
+        if (crc(saved) != map.getInt(base + CHECKSUM)) {
+            throw new IOException("Save for " + playerId + " is corrupt");
+        }
+        return saved;
+    }
+
+    /**
+     * Deletes a player's save.
+     * @param playerId the player's id
+     * @return true if there was a save to delete
+     */
+    public synchronized boolean remove(String playerId) {
+        Integer slot = index.remove(playerId);
+        if (slot == null) {
+            return false;
+        }
+        freeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Gets the ids of every player with a save.
+     * @return an unmodifiable snapshot of the player ids
+     */
+    public synchronized Set<String> getPlayerIds() {
+        return Collections.unmodifiableSet(new HashSet<>(index.keySet()));
+    }
+
+    /**
+     * Gets the number of saves in the store.
+     * @return the save count
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Forces all saves to disk.
+     */
+    public synchronized void flush() {
+        map.force();
+    }
+
+    /**
+     * Forces all saves to disk and closes the file.
+     * @throws IOException if closing fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+
+    /**
+     * Maps the header and a number of slots, growing the file if needed.
+     */
+    private void map(int slots) throws IOException {
+        slotCount = slots;
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+    }
+
+    /**
+     * Scans every slot for saved keys, keeping the newest intact slot for each.
+     * A slot that is not intact, such as one torn by a crash mid-write, is freed.
+     */
+    private void buildIndex() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            int base = slotOffset(slot);
+            int keyLength = map.getShort(base);
+            if (keyLength == 0) {
+                continue;
+            }
+            if (!isIntact(base, keyLength)) {
+                map.putShort(base, (short) 0);
+                continue;
+            }
+            byte[] key = new byte[keyLength];
+            map.get(base + 2, key);
+            long generation = map.getLong(base + GENERATION);
+            nextGeneration = Math.max(nextGeneration, generation + 1);
+            nextFreeSlot = slot + 1;
+
+            // A crash between publishing a save and freeing the one it replaced
+            String playerId = new String(key, StandardCharsets.UTF_8);
+            Integer other = index.get(playerId);
+            if (other == null) {
+                index.put(playerId, slot);
+            } else if (map.getLong(slotOffset(other) + GENERATION) < generation) {
+                index.put(playerId, slot);
+                map.putShort(slotOffset(other), (short) 0);
+            } else {
+                map.putShort(base, (short) 0);
+            }
+        }
+        for (int slot = 0; slot < nextFreeSlot; slot++) {
+            if (map.getShort(slotOffset(slot)) == 0) {
+                freeSlots.push(slot);
+            }
+        }
+    }
+
+    /**
+     * Checks that a published slot holds a whole save: a key and save length in range
+     * and a save that matches its checksum.
+     */
+    private boolean isIntact(int base, int keyLength) {
+        int length = map.getInt(base + LENGTH);
+        if (keyLength < 0 || keyLength > MAX_KEY_BYTES || length < 0 || length > MAX_SAVE_BYTES) {
+            return false;
+        }
+        byte[] saved = new byte[length];
+        map.get(base + DATA, saved);
+        return crc(saved) == map.getInt(base + CHECKSUM);
+    }
+
+    private int allocateSlot() throws IOException {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (nextFreeSlot == slotCount) {
+            if (slotCount == MAX_SLOTS) {
+                throw new IOException("Save store is full at " + MAX_SLOTS + " slots");
+            }
+            map.force();
+            map((int) Math.min((long) slotCount * 2, MAX_SLOTS));
+        }
+        return nextFreeSlot++;
+    }
+
+    private void freeSlot(int slot) {
+        map.putShort(slotOffset(slot), (short) 0);
+        freeSlots.push(slot);
+    }
+
+    private static int slotOffset(int slot) {
+        // In long, then checked, so a bad slot fails rather than wrapping to another slot
+        return Math.toIntExact(HEADER_SIZE + (long) slot * SLOT_SIZE);
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,259 @@
+package edu.wctc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Headless engine that plays whole games from command strings, without console or Swing.
+ * Each playthrough gets its own map-less Maze, so playthroughs are independent and
+ * run in parallel across a fork-join pool, reporting aggregate outcomes and throughput.
+ * A run is seeded: every playthrough gets a GameRandom split off the run's seed in a
+ * fixed order, so a run (and any single fight in it) can be repeated exactly.
+ *
+ * Usage: java edu.wctc.Simulation [playthroughs] [commandsPerGame] [threads] [seed]
+ * Runs random command sequences; defaults are 1000000, 20, all cores and a random seed.
+ */
+public class Simulation {
+    // Commands used for generated playthroughs
+    public static final String COMMANDS = "nsewilx";
+    // Playthroughs handed to a worker at a time
+    private static final int CHUNK_SIZE = 4096;
+
+    public static void main(String[] args) throws Exception {
+        int playthroughs = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int length = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : new GameRandom().getSeed();
+
+        // Warm up so the timed run measures steady-state throughput
+        run(Math.min(playthroughs, 100_000), i -> randomScript(i, length), threads, seed);
+        Report report = run(playthroughs, i -> randomScript(i, length), threads, seed);
+        System.out.println(report);
+    }
+
+    /**
+     * The result of a single playthrough.
+     */
+    public static class Outcome {
+        public final boolean finished;
+        public final boolean won;
+        public final int score;
+        public final int steps;
+        public final long seed;  // seed of the playthrough's GameRandom
+
+        /**
+         * Constructs an Outcome.
+         * @param finished whether the game ended
+         * @param won whether the boss was defeated
+         * @param score the final score
+         * @param steps the number of commands executed
+         * @param seed the seed of the playthrough's random source
+         */
+        public Outcome(boolean finished, boolean won, int score, int steps, long seed) {
+            this.finished = finished;
+            this.won = won;
+            this.score = score;
+            this.steps = steps;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * Aggregate results of many playthroughs.
+     */
+    public static class Report {
+        private long playthroughs;
+        private long finished;
+        private long wins;
+        private long totalScore;
+        private long totalSteps;
+        private int maxScore;
+        private long elapsedNanos;
+        private long seed;
+
+        private void add(Outcome outcome) {
+            playthroughs++;
+            finished += outcome.finished ? 1 : 0;
+            wins += outcome.won ? 1 : 0;
+            totalScore += outcome.score;
+            totalSteps += outcome.steps;
+            maxScore = Math.max(maxScore, outcome.score);
+        }
+
+        private void merge(Report other) {
+            playthroughs += other.playthroughs;
+            finished += other.finished;
+            wins += other.wins;
+            totalScore += other.totalScore;
+            totalSteps += other.totalSteps;
+            maxScore = Math.max(maxScore, other.maxScore);
+        }
+
+        public long getPlaythroughs() {
+            return playthroughs;
+        }
+
+        public long getFinished() {
+            return finished;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public int getMaxScore() {
+            return maxScore;
+        }
+
+        public double getAverageScore() {
+            return playthroughs == 0 ? 0 : (double) totalScore / playthroughs;
+        }
+
+        public double getAverageSteps() {
+            return playthroughs == 0 ? 0 : (double) totalSteps / playthroughs;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Gets the number of playthroughs completed per minute of wall-clock time.
+         * @return the throughput
+         */
+        public double getPlaythroughsPerMinute() {
+            return elapsedNanos == 0 ? 0 : playthroughs * 60e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d playthroughs in %.1f ms (%,.0f/min), seed %d%n"
+                            + "  finished: %,d  wins: %,d (%.1f%% of finished)%n"
+                            + "  average score: %.1f  max score: %d  average commands: %.1f",
+                    playthroughs, elapsedNanos / 1e6, getPlaythroughsPerMinute(), seed,
+                    finished, wins, finished == 0 ? 0 : 100.0 * wins / finished,
+                    getAverageScore(), maxScore, getAverageSteps());
+        }
+    }
+
+    /**
+     * Plays one game with a randomly seeded random source.
+     * @param commands the commands, one character each, e.g. "lieix"
+     * @return the outcome
+     */
+    public static Outcome play(CharSequence commands) {
+        return play(commands, new GameRandom());
+    }
+
+    /**
+     * Plays one game, executing commands until they run out or the game ends.
+     * @param commands the commands, one character each, e.g. "lieix"
+     * @param random the game's random source
+     * @return the outcome
+     */
+    public static Outcome play(CharSequence commands, GameRandom random) {
+        Maze maze;
+        try {
+            maze = new Maze(false, random);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        boolean won = false;
+        int steps = 0;
+        while (steps < commands.length() && !maze.isFinished()) {
+            char command = commands.charAt(steps++);
+            int scoreBefore = maze.getPlayerScore();
+            maze.executeCommand(command);
+
+            // The exit command only raises the score when the boss is defeated
+            if (command == 'x' && maze.isFinished()) {
+                won = maze.getPlayerScore() > scoreBefore;
+            }
+        }
+        return new Outcome(maze.isFinished(), won, maze.getPlayerScore(), steps, random.getSeed());
+    }
+
+    /**
+     * Plays many games in parallel with a random seed and aggregates their outcomes.
+     * @param playthroughs the number of games to play
+     * @param scripts gives the command string for each game index; called from worker threads
+     * @param threads the number of worker threads
+     * @return the aggregate report
+     */
+    public static Report run(int playthroughs, IntFunction<? extends CharSequence> scripts, int threads)
+            throws InterruptedException {
+        return run(playthroughs, scripts, threads, new GameRandom().getSeed());
+    }
+
+    /**
+     * Plays many games in parallel and aggregates their outcomes.
+     * Each chunk of games splits its random source off the run's seed, and each game
+     * splits off its chunk's, so the same seed and scripts always give the same report.
+     * @param playthroughs the number of games to play
+     * @param scripts gives the command string for each game index; called from worker threads
+     * @param threads the number of worker threads
+     * @param seed the run's seed
+     * @return the aggregate report
+     */
+    public static Report run(int playthroughs, IntFunction<? extends CharSequence> scripts, int threads,
+                             long seed) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            GameRandom root = new GameRandom(seed);
+            List<Callable<Report>> chunks = new ArrayList<>();
+            for (int start = 0; start < playthroughs; start += CHUNK_SIZE) {
+                int from = start;
+                int to = Math.min(start + CHUNK_SIZE, playthroughs);
+                GameRandom chunkRandom = root.split();
+                chunks.add(() -> {
+                    Report partial = new Report();
+                    for (int i = from; i < to; i++) {
+                        partial.add(play(scripts.apply(i), chunkRandom.split()));
+                    }
+                    return partial;
+                });
+            }
+
+            long start = System.nanoTime();
+            Report report = new Report();
+            for (Future<Report> chunk : pool.invokeAll(chunks)) {
+                report.merge(chunk.get());
+            }
+            report.elapsedNanos = System.nanoTime() - start;
+            report.seed = seed;
+            return report;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Playthrough failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Generates a reproducible random command sequence.
+     * @param seed the seed, e.g. the playthrough index
+     * @param length the number of commands
+     * @return the commands
+     */
+    public static String randomScript(long seed, int length) {
+        SplittableRandom random = new SplittableRandom(seed);
+        char[] commands = new char[length];
+        for (int i = 0; i < length; i++) {
+            commands[i] = COMMANDS.charAt(random.nextInt(COMMANDS.length()));
+        }
+        return new String(commands);
+    }
+}
@@ -0,0 +1,86 @@
+package edu.wctc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * The text game loop: shows the current room, reads a command line, and prints the result.
+ * Used by Main on the console and by GameServer for each network connection.
+ * Output is flushed once per prompt rather than once per line.
+ */
+public class TextSession {
+    private final Maze maze;
+    private final BufferedReader in;
+    private final PrintWriter out;
+
+    /**
+     * Constructs a TextSession.
+     * @param maze the game to play
+     * @param in where command lines come from
+     * @param out where game text goes
+     */
+    public TextSession(Maze maze, BufferedReader in, PrintWriter out) {
+        this.maze = maze;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Plays until the game finishes, the player quits, or the input ends.
+     * @throws IOException if reading input fails
+     */
+    public void run() throws IOException {
+        out.println("\n╔════════════════════════════════════════╗");
+        out.println("║       WELCOME TO THE MAZE GAME        ║");
+        out.println("║    A Dark Fantasy Dungeon Crawler     ║");
+        out.println("╚════════════════════════════════════════╝\n");
+
+        out.println("Commands:");
+        out.println("  Movement: n(north), s(south), e(east), w(west), u(up), d(down)");
+        out.println("  Actions:  i(interact), l(loot), x(exit), v(inventory)");
+        out.println("  Quit:     q");
+        out.println("════════════════════════════════════════\n");
+
+        while (!maze.isFinished()) {
+            // Display current state
+            out.println();
+            maze.writeCurrentRoomDescription(out);
+            out.println();
+            out.println("\nCurrent Room: " + maze.getCurrentRoomName());
+            out.println(maze.getCurrentRoomExits());
+            out.println("Score: " + maze.getPlayerScore());
+
+            // Get input
+            out.print("\nEnter command: ");
+            out.flush();
+            String line = in.readLine();
+            if (line == null) {
+                return;
+            }
+            String input = line.trim().toLowerCase();
+
+            if (input.isEmpty()) {
+                out.println("✗ Please enter a valid command.");
+                continue;
+            }
+
+            char command = input.charAt(0);
+
+            if (command == 'q') {
+                out.println("\n✗ You have abandoned the maze. Thanks for playing!");
+                out.flush();
+                return;
+            }
+
+            // Process command
+            out.println(maze.executeCommand(command));
+        }
+
+        // Game finished
+        out.println("\n════════════════════════════════════════");
+        out.println("Final Score: " + maze.getPlayerScore());
+        out.println("════════════════════════════════════════\n");
+        out.flush();
+    }
+}
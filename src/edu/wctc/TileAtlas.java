@@ -0,0 +1,181 @@
+package edu.wctc;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pre-rendered map tiles for GameGUI, one image per tile type, so drawing the map is
+ * a series of image blits instead of fills, font creation and glyph rasterizing per cell.
+ *
+ * Tiles are rendered at device resolution: a tile of size 35 on a 150% display is a
+ * 53-pixel image, blitted 1:1. The atlas must be rebuilt when the tile size, graphics
+ * configuration or scale changes. {@link #isValidFor(Graphics2D, int)} checks the first
+ * two on each paint without allocating; the scale can only be read as a new transform, so
+ * the view checks {@link #matchesScale(GraphicsConfiguration)} when its display changes,
+ * since some platforms change a display's scale without giving it a new configuration.
+ * Images come from the configuration's createCompatibleImage, so Java2D can cache them
+ * in video memory.
+ */
+public class TileAtlas {
+    // Tile types in atlas order; any other cell is drawn as floor
+    public static final String TILE_TYPES = "wf@Wnde";
+
+    public static final Color WALL_COLOR = new Color(51, 51, 51);
+    public static final Color FLOOR_COLOR = new Color(136, 136, 136);
+    public static final Color PLAYER_COLOR = new Color(255, 215, 0);
+    public static final Color WEAPON_COLOR = new Color(255, 99, 71);
+    public static final Color NPC_COLOR = new Color(65, 105, 225);
+    public static final Color DOOR_COLOR = new Color(50, 205, 50);
+    public static final Color EXIT_COLOR = new Color(255, 20, 147);
+    public static final Color GRID_COLOR = new Color(68, 68, 68);
+
+    private static final Font PLAYER_FONT = new Font("Arial", Font.BOLD, 18);
+    private static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final BasicStroke GRID_STROKE = new BasicStroke(0.5f);
+
+    // Atlas index per cell character; cells outside the table or unmapped use floor
+    private static final byte[] INDEX = new byte[128];
+
+    static {
+        java.util.Arrays.fill(INDEX, (byte) TILE_TYPES.indexOf('f'));
+        for (int i = 0; i < TILE_TYPES.length(); i++) {
+            INDEX[TILE_TYPES.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final BufferedImage[] tiles = new BufferedImage[TILE_TYPES.length()];
+    private final int tileSize;
+    private final double scaleX;
+    private final double scaleY;
+    private final GraphicsConfiguration config;
+
+    /**
+     * Renders every tile type for a graphics context's configuration and scale.
+     * @param g the graphics the tiles will be drawn to
+     * @param tileSize the tile size in user-space pixels
+     */
+    public TileAtlas(Graphics2D g, int tileSize) {
+        this.tileSize = tileSize;
+        this.config = g.getDeviceConfiguration();
+        AffineTransform transform = g.getTransform();
+        this.scaleX = transform.getScaleX();
+        this.scaleY = transform.getScaleY();
+
+        int width = (int) Math.ceil(tileSize * scaleX);
+        int height = (int) Math.ceil(tileSize * scaleY);
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = config.createCompatibleImage(width, height, Transparency.OPAQUE);
+            Graphics2D tile = tiles[i].createGraphics();
+            try {
+                tile.scale((double) width / tileSize, (double) height / tileSize);
+                tile.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                tile.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                drawTile(tile, TILE_TYPES.charAt(i), tileSize);
+            } finally {
+                tile.dispose();
+            }
+        }
+    }
+
+    /**
+     * Checks whether this atlas still matches a graphics context and tile size.
+     * Allocates nothing, so it can run on every paint; the scale is checked separately.
+     * @param g the graphics about to be drawn to
+     * @param tileSize the tile size in user-space pixels
+     * @return true if the atlas can be used as is, false if it must be rebuilt
+     */
+    public boolean isValidFor(Graphics2D g, int tileSize) {
+        return this.tileSize == tileSize && g.getDeviceConfiguration() == config;
+    }
+
+    /**
+     * Checks whether this atlas was rendered at a configuration's display scale.
+     * Copies the configuration's transform, so call it when the display may have changed,
+     * not on every paint.
+     * @param config the configuration the view is now on
+     * @return true if the scale is unchanged, false if the atlas must be rebuilt
+     */
+    public boolean matchesScale(GraphicsConfiguration config) {
+        AffineTransform transform = config.getDefaultTransform();
+        return transform.getScaleX() == scaleX && transform.getScaleY() == scaleY;
+    }
+
+    /**
+     * Draws a tile.
+     * @param g where to draw
+     * @param cell the map cell, e.g. 'w' or '@'
+     * @param x the tile's left edge in user space
+     * @param y the tile's top edge in user space
+     */
+    public void draw(Graphics2D g, char cell, int x, int y) {
+        BufferedImage tile = tiles[cell < INDEX.length ? INDEX[cell] : INDEX['f']];
+        if (scaleX == 1 && scaleY == 1) {
+            g.drawImage(tile, x, y, null);  // Plain copy, the fastest path
+        } else {
+            g.drawImage(tile, x, y, tileSize, tileSize, null);
+        }
+    }
+
+    /**
+     * Gets the tile size this atlas was rendered for.
+     * @return the tile size in user-space pixels
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Draws one tile type at the origin: its fill, its letter if it has one,
+     * and grid lines along its top and left edges.
+     */
+    private static void drawTile(Graphics2D g, char cellType, int size) {
+        switch (cellType) {
+            case 'w':
+                g.setColor(WALL_COLOR);
+                g.fillRect(0, 0, size, size);
+                break;
+            case '@':
+                drawLabeled(g, size, PLAYER_COLOR, Color.BLACK, PLAYER_FONT, "@", 12, 24);
+                break;
+            case 'W':
+                drawLabeled(g, size, WEAPON_COLOR, Color.WHITE, LABEL_FONT, "W", 12, 22);
+                break;
+            case 'n':
+                drawLabeled(g, size, NPC_COLOR, Color.WHITE, LABEL_FONT, "n", 13, 22);
+                break;
+            case 'd':
+                drawLabeled(g, size, DOOR_COLOR, Color.BLACK, LABEL_FONT, "d", 13, 22);
+                break;
+            case 'e':
+                drawLabeled(g, size, EXIT_COLOR, Color.WHITE, LABEL_FONT, "e", 13, 22);
+                break;
+            default:
+                g.setColor(FLOOR_COLOR);
+                g.fillRect(0, 0, size, size);
+        }
+
+        g.setColor(GRID_COLOR);
+        g.setStroke(GRID_STROKE);
+        g.drawLine(0, 0, size, 0);
+        g.drawLine(0, 0, 0, size);
+    }
+
+    /**
+     * Fills a tile and draws its letter. Letter offsets are for a 35-pixel tile and scale with it.
+     */
+    private static void drawLabeled(Graphics2D g, int size, Color fill, Color text, Font font,
+                                    String label, int textX, int textY) {
+        g.setColor(fill);
+        g.fillRect(0, 0, size, size);
+        g.setColor(text);
+        g.setFont(font.deriveFont(font.getSize2D() * size / 35f));
+        g.drawString(label, textX * size / 35, textY * size / 35);
+    }
+}
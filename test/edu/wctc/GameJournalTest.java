@@ -0,0 +1,101 @@
+package edu.wctc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks that GameJournal.recover restores the last good state after a crash: a torn
+ * record at the end of the journal, or one whose CRC does not match, is dropped and
+ * everything before it is replayed over the last snapshot. Compares whole saved games,
+ * which include the player's position in every room. Exits non-zero on failure:
+ * java edu.wctc.GameJournalTest
+ */
+public class GameJournalTest {
+    private static final String COMMANDS = "ilewnsilsenwil";
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("maze-journal");
+        try {
+            run(dir);
+        } finally {
+            for (String file : new String[]{GameJournal.JOURNAL_FILE, GameJournal.SNAPSHOT_FILE}) {
+                Files.deleteIfExists(dir.resolve(file));
+            }
+            Files.deleteIfExists(dir);
+        }
+        System.out.println("GameJournalTest passed");
+    }
+
+    private static void run(Path dir) throws IOException {
+        Maze maze = new Maze(true);
+        GameJournal journal = GameJournal.start(dir, maze);
+
+        // A position inside the room, which only a snapshot saves
+        Room room = maze.getCurrentRoom();
+        room.playerRow = 3;
+        room.playerCol = 4;
+        journal.snapshot(maze);
+
+        // The saved game after each journal record
+        Map<Long, byte[]> saves = new HashMap<>();
+        saves.put(journal.getSequence(), maze.save());
+        for (char command : COMMANDS.toCharArray()) {
+            maze.executeCommand(command);
+            saves.put(journal.getSequence(), maze.save());
+        }
+        long last = journal.getSequence();
+        check(last >= 2, "only " + last + " commands were journaled");
+        journal.close();
+
+        // A crash mid-write leaves part of a record
+        append(dir, new byte[]{0, 0, 0, 0, 0, 0, 0});
+        Maze recovered = GameJournal.recover(dir, true);
+        check(Arrays.equals(recovered.save(), saves.get(last)), "torn tail: state differs from the last record");
+        check(recovered.getCurrentRoomName().equals(maze.getCurrentRoomName()), "torn tail: wrong room");
+        recovered.getJournal().close();
+
+        // A corrupt last record is dropped along with anything after it
+        corruptLastByte(dir);
+        recovered = GameJournal.recover(dir, true);
+        check(Arrays.equals(recovered.save(), saves.get(last - 1)), "corrupt tail: state differs from the record before it");
+        check(recovered.getJournal().getSequence() == last - 1, "corrupt tail: sequence " + recovered.getJournal().getSequence());
+
+        // The journal keeps recording after recovery
+        recovered.executeCommand(COMMANDS.charAt(0));
+        byte[] expected = recovered.save();
+        recovered.getJournal().close();
+        Maze again = GameJournal.recover(dir, true);
+        check(Arrays.equals(again.save(), expected), "records made after recovery were lost");
+        again.getJournal().close();
+    }
+
+    private static void append(Path dir, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir.resolve(GameJournal.JOURNAL_FILE), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(bytes));
+        }
+    }
+
+    private static void corruptLastByte(Path dir) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir.resolve(GameJournal.JOURNAL_FILE),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            last.put(0, (byte) ~last.get(0));
+            channel.write(last.rewind(), channel.size() - 1);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("✗ " + message);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package edu.wctc;
+
+import java.io.IOException;
+
+/**
+ * Checks that the static narrative blocks stay registered however much dynamic text
+ * passes through the registry. Exits non-zero on failure:
+ * java edu.wctc.NarrativeRegistryTest
+ */
+public class NarrativeRegistryTest {
+    public static void main(String[] args) throws IOException {
+        Maze maze = new Maze(false);
+        String description = maze.getStartingEntranceNarrative();
+        int registered = NarrativeRegistry.size();
+
+        for (int i = 0; i < 100_000; i++) {
+            Narrative dynamic = NarrativeRegistry.of("Final score: " + i);
+            check(NarrativeRegistry.get(dynamic.id) == null, "dynamic text was registered: " + dynamic.text);
+        }
+        check(NarrativeRegistry.size() == registered, "registry grew to " + NarrativeRegistry.size());
+
+        Narrative room = NarrativeRegistry.of(description);
+        check(NarrativeRegistry.get(room.id) == room, "room description does not resolve by ID");
+        Narrative moved = NarrativeRegistry.of(maze.executeCommand('n'));
+        check(NarrativeRegistry.get(moved.id) == moved, "command result does not resolve by ID");
+        System.out.println("NarrativeRegistryTest passed (" + registered + " static blocks)");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("✗ " + message);
+            System.exit(1);
+        }
+    }
+}
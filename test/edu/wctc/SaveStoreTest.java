@@ -0,0 +1,92 @@
+package edu.wctc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Checks that a SaveStore reopened after partial writes keeps every intact save and
+ * reuses the torn slots: a newer save whose checksum does not match loses to the older
+ * one, and a slot with a garbage key length is freed rather than leaked. Exits non-zero
+ * on failure:
+ * java edu.wctc.SaveStoreTest
+ */
+public class SaveStoreTest {
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("maze-saves", ".db");
+        Files.delete(file);
+        try {
+            run(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.println("SaveStoreTest passed");
+    }
+
+    private static void run(Path file) throws IOException {
+        Maze alice = game("il");
+        Maze bob = game("e");
+        Maze carol = game("ii");
+        try (SaveStore store = SaveStore.open(file)) {
+            store.save("alice", game(""));   // Slot 0, freed when alice saves again
+            store.save("bob", bob);          // Slot 1
+            store.save("carol", carol);      // Slot 2
+            store.save("alice", alice);      // Slot 3
+        }
+        long size = Files.size(file);
+        int slots = (int) ((size - SaveStore.HEADER_SIZE) / SaveStore.SLOT_SIZE);
+
+        // A crash tore a write into the free slot 0, and a newer save for bob in slot 4
+        // was published before its data reached the disk
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(2).putShort(0, (short) 0x7FFF), slotOffset(0));
+            byte[] key = "bob".getBytes(StandardCharsets.UTF_8);
+            ByteBuffer torn = ByteBuffer.allocate(SaveStore.SLOT_SIZE);
+            torn.putShort((short) key.length).put(key).position(2 + SaveStore.MAX_KEY_BYTES);
+            torn.putLong(1000).putInt(100).putInt(12345).rewind();
+            channel.write(torn, slotOffset(4));
+        }
+
+        try (SaveStore store = SaveStore.open(file)) {
+            check(store.size() == 3, "expected 3 saves, found " + store.getPlayerIds());
+            check(restores(store, "alice", alice), "alice's save was not restored");
+            check(restores(store, "bob", bob), "bob's intact save did not win over the torn one");
+            check(restores(store, "carol", carol), "carol's save was not restored");
+
+            // Every slot but the three saves is free, the torn ones included
+            for (int i = 3; i < slots; i++) {
+                store.put("player" + i, bob.save());
+            }
+            check(Files.size(file) == size, "the store grew to " + Files.size(file) + " bytes: torn slots leaked");
+        }
+    }
+
+    private static Maze game(String commands) throws IOException {
+        Maze maze = new Maze(false);
+        for (char command : commands.toCharArray()) {
+            maze.executeCommand(command);
+        }
+        return maze;
+    }
+
+    private static boolean restores(SaveStore store, String playerId, Maze expected) throws IOException {
+        Maze maze = new Maze(false);
+        return store.load(playerId, maze) && Arrays.equals(maze.save(), expected.save());
+    }
+
+    private static long slotOffset(int slot) {
+        return SaveStore.HEADER_SIZE + (long) slot * SaveStore.SLOT_SIZE;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("✗ " + message);
+            System.exit(1);
+        }
+    }
+}